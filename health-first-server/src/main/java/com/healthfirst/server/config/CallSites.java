@@ -0,0 +1,36 @@
+package com.healthfirst.server.config;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Where in the application a JDBC statement came from. Called from a datasource-proxy listener: the
+// listener's own frames are on top, then the proxy, Hibernate and Spring Data, then the application
+// code that triggered the statement (a repository call, or a lazy load in a DTO constructor).
+final class CallSites {
+
+    private static final String APPLICATION_PACKAGE = "com.healthfirst.server.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private CallSites() {
+    }
+
+    // Up to maxFrames application frames, innermost first, e.g.
+    // "ProviderAvailabilityResponse.<init>:113 < ProviderAvailabilityService.lambda$toResponses$1:320"
+    static String current(int maxFrames) {
+        List<String> frames = STACK_WALKER.walk(stack -> stack
+                .dropWhile(frame -> frame.getDeclaringClass() == CallSites.class
+                        || QueryExecutionListener.class.isAssignableFrom(frame.getDeclaringClass()))
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+                // Spring's CGLIB proxies only delegate
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .limit(maxFrames)
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .toList());
+        return frames.isEmpty() ? "outside application code" : String.join(" < ", frames);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
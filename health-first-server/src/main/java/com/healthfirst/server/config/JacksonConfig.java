@@ -0,0 +1,84 @@
+package com.healthfirst.server.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+@Configuration
+public class JacksonConfig {
+
+    // Not in Spring's MediaType constants; the type MappingJackson2SmileHttpMessageConverter handles
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    // Spring Boot registers every Module bean on the shared ObjectMapper. Blackbird swaps the reflective
+    // getter/setter calls of the bean (de)serializers for LambdaMetafactory-generated accessors, built
+    // once per property, which takes most of the per-field cost out of writing the response DTOs.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Replaces Boot's JSON converter with the same one, observed (see observeWrite)
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                observeWrite(observationRegistry, outputMessage, () -> super.writeInternal(object, type, outputMessage));
+            }
+        };
+    }
+
+    // Binary encodings of the same response tree, chosen by the Accept header. Spring MVC would add
+    // CBOR and Smile converters on its own once the dataformats are on the classpath, but with a bare
+    // mapper: no Blackbird and timestamps instead of ISO dates. Boot's builder is a prototype bean that
+    // carries the application's Jackson settings and modules, so these write exactly what the JSON
+    // converter writes, and Boot puts them in place of the defaults.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, ObservationRegistry observationRegistry) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                observeWrite(observationRegistry, outputMessage, () -> super.writeInternal(object, type, outputMessage));
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, ObservationRegistry observationRegistry) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                observeWrite(observationRegistry, outputMessage, () -> super.writeInternal(object, type, outputMessage));
+            }
+        };
+    }
+
+    // response.serialization span and timer, tagged with the format. Jackson streams into the response,
+    // so for bodies past the buffer size this includes compression and the socket writes as well.
+    private static void observeWrite(ObservationRegistry observationRegistry, HttpOutputMessage outputMessage,
+                                     Observation.CheckedRunnable<IOException> write) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        Observation.createNotStarted("response.serialization", observationRegistry)
+                .lowCardinalityKeyValue("format", contentType != null ? contentType.getSubtype() : "unknown")
+                .observeChecked(write);
+    }
+}
@@ -3,18 +3,28 @@ package com.healthfirst.server.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class JwtConfig {
 
     @Value("${jwt.secret:defaultSecretKeyForDevelopmentOnly}")
     private String secret;
 
-    @Value("${jwt.expiration:3600}")
+    @Value("${jwt.expiration:900}")
     private long expiration;
 
+    @Value("${jwt.refresh-expiration:1209600}")
+    private long refreshExpiration;
+
     @Value("${jwt.issuer:health-first-server}")
     private String issuer;
 
+    // Providers whose access tokens carry the admin claim (bulk status updates and imports).
+    // Re-read on every login and refresh, so removing an email takes effect within one token lifetime
+    @Value("${jwt.admin-emails:}")
+    private Set<String> adminEmails;
+
     public String getSecret() {
         return secret;
     }
@@ -31,6 +41,14 @@ public class JwtConfig {
         this.expiration = expiration;
     }
 
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    public void setRefreshExpiration(long refreshExpiration) {
+        this.refreshExpiration = refreshExpiration;
+    }
+
     public String getIssuer() {
         return issuer;
     }
@@ -38,4 +56,12 @@ public class JwtConfig {
     public void setIssuer(String issuer) {
         this.issuer = issuer;
     }
+
+    public boolean isAdminEmail(String email) {
+        return email != null && adminEmails.stream().anyMatch(email::equalsIgnoreCase);
+    }
+
+    public void setAdminEmails(Set<String> adminEmails) {
+        this.adminEmails = adminEmails;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.healthfirst.server.config;
+
+import com.healthfirst.server.security.BCryptCostBenchmark;
+import com.healthfirst.server.security.TunableBCryptPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    public static final String BCRYPT_ID = "bcrypt";
+    public static final String ARGON2_ID = "argon2";
+
+    // Id used for new hashes; stored hashes with any other id are rehashed on next login
+    @Value("${password-hashing.algorithm:bcrypt}")
+    private String algorithm;
+
+    // Fixed, so every instance and every restart hashes at the same cost: hashes at any other cost
+    // are rehashed on login, and a cost that varied with the hardware would rehash on every login
+    @Value("${password-hashing.bcrypt.strength:12}")
+    private int bcryptStrength;
+
+    // Opt-in: time BCrypt on this machine at startup and log the cost that fits target-latency-ms,
+    // as a recommendation for bcrypt.strength. The configured strength is used either way
+    @Value("${password-hashing.bcrypt.benchmark:false}")
+    private boolean bcryptBenchmark;
+
+    @Value("${password-hashing.bcrypt.target-latency-ms:250}")
+    private long bcryptTargetLatencyMillis;
+
+    @Value("${password-hashing.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${password-hashing.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    // 0 means one thread per available core
+    @Value("${password-hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${password-hashing.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    // 0 means half the available cores, leaving the rest for logins and request handling
+    @Value("${password-hashing.import-pool-size:0}")
+    private int importPoolSize;
+
+    // Platform threads even when requests run on virtual threads: hashing is CPU-bound, and this
+    // pool's bound is what turns a login burst into 429s instead of every core spinning on BCrypt
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // Fixed size with a bounded queue; AbortPolicy turns saturation into a fast rejection
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Separate pool for bulk imports so a large file cannot fill the login queue; callers submit
+    // one batch at a time, which keeps the unbounded queue bounded in practice
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor importHashingExecutor() {
+        int threads = importPoolSize > 0 ? importPoolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    public PasswordEncoder createPasswordEncoder() {
+        TunableBCryptPasswordEncoder bcrypt = new TunableBCryptPasswordEncoder(resolveBCryptStrength());
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, bcrypt);
+        encoders.put(ARGON2_ID, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before ids were introduced are bare BCrypt strings
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    private int resolveBCryptStrength() {
+        if (bcryptStrength < 4 || bcryptStrength > 31) {
+            throw new IllegalStateException("password-hashing.bcrypt.strength must be between 4 and 31, was " + bcryptStrength);
+        }
+        if (bcryptBenchmark) {
+            long start = System.nanoTime();
+            int cost = BCryptCostBenchmark.pickCost(bcryptTargetLatencyMillis, bcryptMinStrength, bcryptMaxStrength);
+            log.info("BCrypt cost {} fits a {} ms target on this machine (configured: {}, benchmark took {} ms)",
+                    cost, bcryptTargetLatencyMillis, bcryptStrength, (System.nanoTime() - start) / 1_000_000);
+        }
+        return bcryptStrength;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
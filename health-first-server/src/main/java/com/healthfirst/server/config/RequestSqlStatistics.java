@@ -0,0 +1,180 @@
+package com.healthfirst.server.config;
+
+import com.healthfirst.server.controller.StatementBudget;
+import com.healthfirst.server.exception.StatementBudgetExceededException;
+import io.micrometer.common.KeyValue;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// JDBC statements (round trips; a batch is one) and their time, per request handled by Spring MVC.
+// The tally is opened when the handler is picked and kept as a request attribute; a thread local
+// makes it visible to this datasource-proxy listener, and is carried onto the slot search pool with
+// the rest of the context snapshot. When the request completes the totals are recorded per URI
+// pattern as http.server.requests.db.statements and .db.time, and put on its span.
+// A request that runs more statements than its budget (statement-budget.max-per-request, or the
+// handler's @StatementBudget) is usually an N+1 lazy load: it is logged with the call sites of the
+// statements past the budget, or with statement-budget.enforce (the test profile) the statement past
+// the budget throws, failing the request.
+@Component
+public class RequestSqlStatistics implements QueryExecutionListener, AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestSqlStatistics.class);
+
+    public static final String STATEMENT_COUNT = "db.statement.count";
+    public static final String STATEMENT_TIME = "db.statement.time_ms";
+
+    private static final String ATTRIBUTE = RequestSqlStatistics.class.getName() + ".tally";
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+    private static final int CALL_SITE_FRAMES = 3;
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+                ATTRIBUTE, CURRENT::get, CURRENT::set, CURRENT::remove);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxPerRequest;
+    private final boolean enforce;
+
+    public RequestSqlStatistics(
+            MeterRegistry meterRegistry,
+            @Value("${statement-budget.max-per-request:20}") int maxPerRequest,
+            @Value("${statement-budget.enforce:false}") boolean enforce) {
+        this.meterRegistry = meterRegistry;
+        this.maxPerRequest = maxPerRequest;
+        this.enforce = enforce;
+    }
+
+    // Also called for the async dispatch of the same request, which picks up the tally it started
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Tally tally = (Tally) request.getAttribute(ATTRIBUTE);
+        if (tally == null) {
+            tally = new Tally(budgetFor(handler));
+            request.setAttribute(ATTRIBUTE, tally);
+        }
+        CURRENT.set(tally);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CURRENT.remove();
+        Tally tally = (Tally) request.getAttribute(ATTRIBUTE);
+        // An error dispatch completes a second time with the same tally
+        if (tally != null && tally.reported.compareAndSet(false, true)) {
+            report(request, tally);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tally tally = CURRENT.get();
+        if (tally == null) {
+            return;
+        }
+        int statements = tally.statements.incrementAndGet();
+        tally.millis.addAndGet(execInfo.getElapsedTime());
+        if (tally.budget > 0 && statements > tally.budget) {
+            String callSite = CallSites.current(CALL_SITE_FRAMES);
+            if (enforce) {
+                throw new StatementBudgetExceededException("Statement " + statements + " exceeds the request's budget of "
+                        + tally.budget + " (likely an N+1 query), from " + callSite);
+            }
+            tally.overBudgetSites.merge(callSite, 1, Integer::sum);
+        }
+    }
+
+    // ObservationFilter: runs as the request observation stops, before its span is finished
+    public static Observation.Context addToRequestSpan(Observation.Context context) {
+        if (context instanceof ServerRequestObservationContext request) {
+            Tally tally = (Tally) request.getCarrier().getAttribute(ATTRIBUTE);
+            context.addHighCardinalityKeyValue(KeyValue.of(STATEMENT_COUNT, String.valueOf(tally != null ? tally.statements.get() : 0)));
+            context.addHighCardinalityKeyValue(KeyValue.of(STATEMENT_TIME, String.valueOf(tally != null ? tally.millis.get() : 0)));
+        }
+        return context;
+    }
+
+    private int budgetFor(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return maxPerRequest;
+    }
+
+    private void report(HttpServletRequest request, Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int statements = tally.statements.get();
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("JDBC statements per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("http.server.requests.db.time")
+                .description("Time per request spent executing JDBC statements")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(tally.millis.get()));
+
+        if (!tally.overBudgetSites.isEmpty()) {
+            log.warn("{} {} ran {} statements, over its budget of {}; statements past the budget came from {}",
+                    request.getMethod(), uri, statements, tally.budget,
+                    tally.overBudgetSites.entrySet().stream()
+                            .map(site -> site.getValue() + "x " + site.getKey())
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    static final class Tally {
+
+        private final int budget;
+        private final AtomicInteger statements = new AtomicInteger();
+        private final AtomicLong millis = new AtomicLong();
+        // Call site -> statements past the budget, only filled once the budget is spent
+        private final Map<String, Integer> overBudgetSites = new ConcurrentHashMap<>();
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        Tally(int budget) {
+            this.budget = budget;
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.healthfirst.server.config;
 
+import com.healthfirst.server.middleware.JwtAuthenticationFilter;
+import com.healthfirst.server.middleware.TokenPrincipal;
+import com.healthfirst.server.security.BoundedPasswordEncoder;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -10,19 +19,28 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BiPredicate;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public BoundedPasswordEncoder passwordEncoder(
+            @Qualifier("passwordHashingExecutor") ThreadPoolExecutor passwordHashingExecutor,
+            PasswordHashingConfig passwordHashingConfig) {
+        // Hashing runs on the dedicated pool rather than on Tomcat request threads
+        return new BoundedPasswordEncoder(passwordHashingConfig.createPasswordEncoder(),
+                passwordHashingExecutor, passwordHashingConfig.getTimeoutMillis());
     }
 
     @Bean
@@ -39,13 +57,23 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationProvider authenticationProvider,
+                                           JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authz -> authz
+                // Async results (slot search) are written on a second dispatch of an already authorized request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/v1/provider/register").permitAll()
                 .requestMatchers("/api/v1/provider/login").permitAll()
+                .requestMatchers("/api/v1/provider/refresh-token").permitAll()
+                .requestMatchers("/api/v1/patient/register").permitAll()
+                .requestMatchers("/api/v1/patient/login").permitAll()
+                .requestMatchers("/api/v1/patient/refresh-token").permitAll()
+                .requestMatchers("/api/v1/patient/logout").permitAll()
                 .requestMatchers("/api/health/**").permitAll()
+                // Actuator endpoints only exist on the management port (management.server.port)
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                 // Swagger UI and API docs
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/swagger-ui.html").permitAll()
@@ -53,13 +81,50 @@ public class SecurityConfig {
                 .requestMatchers("/v3/api-docs/**").permitAll()
                 .requestMatchers("/swagger-resources/**").permitAll()
                 .requestMatchers("/webjars/**").permitAll()
+                // Bulk imports create and activate accounts, and bulk status updates flip up to
+                // BulkStatusUpdateRequest.MAX_UUIDS accounts at once: admins only (jwt.admin-emails)
+                .requestMatchers("/api/v1/provider/import", "/api/v1/patient/import").hasRole("ADMIN")
+                .requestMatchers("/api/v1/provider/bulk/**", "/api/v1/patient/bulk/**").hasRole("ADMIN")
+                // Provider accounts and availability are written by providers only
+                .requestMatchers(HttpMethod.POST, "/api/v1/provider/availability").hasRole("PROVIDER")
+                .requestMatchers(HttpMethod.PUT, "/api/v1/provider/availability/*").hasRole("PROVIDER")
+                .requestMatchers(HttpMethod.DELETE, "/api/v1/provider/availability/*").hasRole("PROVIDER")
+                .requestMatchers(HttpMethod.PUT, "/api/v1/provider/*").hasRole("PROVIDER")
+                .requestMatchers(HttpMethod.DELETE, "/api/v1/provider/*").hasRole("PROVIDER")
+                // Patient records: listings and verification are staff only; a patient token reaches
+                // its own profile and nobody else's
+                .requestMatchers("/api/v1/patient/list", "/api/v1/patient/search").hasRole("PROVIDER")
+                .requestMatchers("/api/v1/patient/*/activate", "/api/v1/patient/*/verify-email",
+                        "/api/v1/patient/*/verify-phone").hasRole("PROVIDER")
+                .requestMatchers("/api/v1/patient/email/{email}")
+                    .access(patientSelfOrStaff((patient, context) -> patient.email().equalsIgnoreCase(context.getVariables().get("email"))))
+                .requestMatchers("/api/v1/patient/{uuid}", "/api/v1/patient/{uuid}/deactivate")
+                    .access(patientSelfOrStaff((patient, context) -> patient.subjectUuid() != null
+                            && patient.subjectUuid().toString().equalsIgnoreCase(context.getVariables().get("uuid"))))
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
-} 
\ No newline at end of file
+
+    // Providers may reach any patient; a patient token only the record isOwn accepts
+    private static AuthorizationManager<RequestAuthorizationContext> patientSelfOrStaff(
+            BiPredicate<TokenPrincipal, RequestAuthorizationContext> isOwn) {
+        return (authentication, context) -> {
+            Authentication caller = authentication.get();
+            if (caller == null || !caller.isAuthenticated()) {
+                return new AuthorizationDecision(false);
+            }
+            boolean staff = caller.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch("ROLE_PROVIDER"::equals);
+            return new AuthorizationDecision(staff || caller.getPrincipal() instanceof TokenPrincipal patient
+                    && "PATIENT".equals(patient.role()) && isOwn.test(patient, context));
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.healthfirst.server.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Logs JDBC statements slower than slow-query.threshold-ms with the application code that ran them
+// and the parameterized SQL only: bind values are never read, so no patient data reaches the log.
+// At most slow-query.max-logged-per-minute lines are written; when the database as a whole slows
+// down, the rest are counted and the total is reported on the next line that gets through instead
+// of flooding the log.
+// Hibernate's own hibernate.log_slow_query is not used: it prints the JDBC statement's toString(),
+// which for PgJDBC includes the bound values.
+@Component
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private static final long WINDOW_MILLIS = 60_000;
+    private static final int MAX_SQL_LENGTH = 1000;
+    private static final int CALL_SITE_FRAMES = 3;
+
+    private final long thresholdMillis;
+    private final int maxLoggedPerMinute;
+
+    private long windowStart;
+    private int loggedInWindow;
+    private long suppressed;
+
+    public SlowQueryLogger(
+            @Value("${slow-query.threshold-ms:200}") long thresholdMillis,
+            @Value("${slow-query.max-logged-per-minute:60}") int maxLoggedPerMinute) {
+        this.thresholdMillis = thresholdMillis;
+        this.maxLoggedPerMinute = maxLoggedPerMinute;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        long skipped = admit(System.currentTimeMillis());
+        if (skipped < 0) {
+            return;
+        }
+        log.warn("Slow statement took {} ms{}{}{} at {}: {}", elapsed,
+                execInfo.isSuccess() ? "" : " and failed",
+                execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+                skipped > 0 ? " [" + skipped + " slow statements not logged since the last one]" : "",
+                CallSites.current(CALL_SITE_FRAMES), sql(queryInfoList));
+    }
+
+    // Returns the statements suppressed since the last logged one, or -1 if this one is suppressed.
+    // Only slow statements get here, so the lock is uncontended in normal operation.
+    private synchronized long admit(long now) {
+        if (now - windowStart >= WINDOW_MILLIS) {
+            windowStart = now;
+            loggedInWindow = 0;
+        }
+        if (loggedInWindow >= maxLoggedPerMinute) {
+            suppressed++;
+            return -1;
+        }
+        loggedInWindow++;
+        long skipped = suppressed;
+        suppressed = 0;
+        return skipped;
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .map(query -> query.replaceAll("\\s+", " ").trim())
+                .collect(Collectors.joining("; "));
+        return sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+    }
+}
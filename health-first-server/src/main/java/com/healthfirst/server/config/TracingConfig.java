@@ -0,0 +1,31 @@
+package com.healthfirst.server.config;
+
+import io.micrometer.observation.ObservationFilter;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Spans come from Micrometer Observations bridged to the OpenTelemetry SDK. Per request:
+// http.server.requests (with db.statement.count and db.statement.time_ms), Spring Security's filter chain spans,
+// auth.jwt.verification, a connection and a jdbc.query span per statement (datasource-micrometer),
+// dto.mapping and response.serialization. Sampling is management.tracing.sampling.probability.
+@Configuration
+public class TracingConfig {
+
+    // Finished spans are written as OTLP JSON lines to the io.opentelemetry.exporter.logging.otlp
+    // logger, in batches from Boot's span processor. No collector is needed. Each line can be
+    // replayed into any OTLP backend later. Off with management.tracing.enabled=false, which Spring
+    // Boot also sets for tests.
+    @Bean
+    @ConditionalOnEnabledTracing
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    @Bean
+    public ObservationFilter sqlStatementCountFilter() {
+        return RequestSqlStatistics::addToRequestSpan;
+    }
+}
@@ -0,0 +1,155 @@
+package com.healthfirst.server.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// In virtual-thread mode (spring.threads.virtual.enabled on Java 21+), a virtual thread that blocks
+// inside a synchronized block or native frame stays pinned to its carrier thread, and a few of those
+// can stall every request. This listens for the JDK's own jdk.VirtualThreadPinned JFR event and
+// reports where it happens: the first occurrence per call site is logged with its stack, and counts
+// are exposed at GET /api/health/virtual-threads.
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_TRACKED_SITES = 100;
+    private static final int LOGGED_FRAMES = 20;
+
+    private final boolean virtualThreadsEnabled;
+    private final boolean detectorEnabled;
+    private final Duration threshold;
+    private final int javaVersion = Runtime.version().feature();
+
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    // First non-JDK frame of the pinned stack -> occurrences
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            @Value("${virtual-threads.pinning-detector.enabled:true}") boolean detectorEnabled,
+            @Value("${virtual-threads.pinning-detector.threshold-ms:20}") long thresholdMillis) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.detectorEnabled = detectorEnabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        if (javaVersion < 21) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "requests keep running on the platform thread pool", javaVersion);
+            return;
+        }
+        if (!detectorEnabled) {
+            return;
+        }
+
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        recording = stream;
+        log.info("Virtual thread pinning detector started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream stream = recording;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("java_version", javaVersion);
+        stats.put("virtual_threads", virtualThreadsEnabled && javaVersion >= 21);
+        stats.put("pinning_detector", recording != null);
+        stats.put("threshold_ms", threshold.toMillis());
+        stats.put("pinned_events", pinnedEvents.sum());
+        stats.put("pinned_ms_total", pinnedNanos.sum() / 1_000_000);
+
+        List<Map.Entry<String, LongAdder>> sites = pinnedSites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(20)
+                .collect(Collectors.toList());
+        Map<String, Long> topSites = new LinkedHashMap<>();
+        sites.forEach(entry -> topSites.put(entry.getKey(), entry.getValue().sum()));
+        stats.put("top_sites", topSites);
+        return stats;
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = pinnedSite(frames);
+
+        LongAdder count = pinnedSites.get(site);
+        if (count == null) {
+            // Bounded: sites beyond the cap are still counted in pinned_events
+            if (pinnedSites.size() >= MAX_TRACKED_SITES) {
+                return;
+            }
+            LongAdder created = new LongAdder();
+            count = pinnedSites.putIfAbsent(site, created);
+            if (count == null) {
+                count = created;
+                log.warn("Virtual thread pinned for {} ms at {}:\n{}",
+                        event.getDuration().toMillis(), site, format(frames));
+            }
+        }
+        count.increment();
+    }
+
+    // The JDK frames on top are the park itself; the first frame outside them is the code that blocked
+    private static String pinnedSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + describe(frame))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -1,8 +1,15 @@
 package com.healthfirst.server.controller;
 
 import com.healthfirst.server.dto.ApiResponse;
+import com.healthfirst.server.dto.CurrentProviderResponse;
 import com.healthfirst.server.dto.LoginRequest;
 import com.healthfirst.server.dto.LoginResponse;
+import com.healthfirst.server.dto.RefreshTokenRequest;
+import com.healthfirst.server.dto.TokenValidationResponse;
+import com.healthfirst.server.exception.InvalidCredentialsException;
+import com.healthfirst.server.exception.LoginThrottledException;
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
+import com.healthfirst.server.security.LoginRateLimiter;
 import com.healthfirst.server.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,12 +22,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/provider")
@@ -31,6 +37,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     // POST /api/v1/provider/login
     @PostMapping("/login")
     @Operation(
@@ -42,30 +51,75 @@ public class AuthController {
             content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = com.healthfirst.server.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many login attempts or password hashing capacity exceeded, retry after the Retry-After interval"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<LoginResponse>> login(
-            @Valid @RequestBody LoginRequest loginRequest) {
+            @Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
         try {
+            // Reject throttled attempts before any password hashing happens
+            loginRateLimiter.acquire(LoginRateLimiter.PROVIDER_REALM, loginRequest.getEmail(), request.getRemoteAddr());
+
             LoginResponse response = authService.login(loginRequest);
+            loginRateLimiter.recordSuccess(LoginRateLimiter.PROVIDER_REALM, loginRequest.getEmail());
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (InvalidCredentialsException e) {
+            loginRateLimiter.recordFailure(LoginRateLimiter.PROVIDER_REALM, loginRequest.getEmail());
+
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Invalid credentials"));
         } catch (IllegalArgumentException e) {
-            Map<String, Object> errorData = new HashMap<>();
-            errorData.put("error_code", "INVALID_CREDENTIALS");
-            
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Invalid credentials"));
+        } catch (PasswordHashingCapacityException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("An error occurred during login"));
         }
     }
 
+    // POST /api/v1/provider/refresh-token
+    @PostMapping("/refresh-token")
+    @Operation(
+        summary = "Refresh provider access token",
+        description = "Exchange a refresh token for a new short-lived access token. The refresh token is rotated; " +
+                      "presenting an already used refresh token revokes every token issued from the same login"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Token refreshed successfully",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = com.healthfirst.server.dto.ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid, expired or revoked refresh token"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<LoginResponse>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        try {
+            LoginResponse response = authService.refreshToken(refreshTokenRequest.getRefreshToken());
+            return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("An error occurred while refreshing the token"));
+        }
+    }
+
     // POST /api/v1/provider/logout
     @PostMapping("/logout")
     @Operation(
         summary = "Provider logout",
-        description = "Logout a provider and invalidate their JWT token"
+        description = "Logout a provider and invalidate their JWT token. If a refresh token is supplied, " +
+                      "it and every token rotated from it are revoked"
     )
     @SecurityRequirement(name = "Bearer Authentication")
     @ApiResponses(value = {
@@ -73,14 +127,15 @@ public class AuthController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<String>> logout(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<String>> logout(
+            HttpServletRequest request,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
         try {
             String authHeader = request.getHeader("Authorization");
-            
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                String token = authHeader.substring(7);
-                authService.logout(token);
-            }
+            String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+            String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+
+            authService.logout(token, refreshToken);
             
             return ResponseEntity.ok(ApiResponse.success("Logout successful", "Successfully logged out"));
         } catch (Exception e) {
@@ -101,7 +156,7 @@ public class AuthController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getCurrentProvider(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<CurrentProviderResponse>> getCurrentProvider(HttpServletRequest request) {
         try {
             String authHeader = request.getHeader("Authorization");
             
@@ -113,16 +168,8 @@ public class AuthController {
             String token = authHeader.substring(7);
             var provider = authService.getProviderFromToken(token);
             
-            Map<String, Object> providerData = new HashMap<>();
-            providerData.put("uuid", provider.getUuid());
-            providerData.put("email", provider.getEmail());
-            providerData.put("firstName", provider.getFirstName());
-            providerData.put("lastName", provider.getLastName());
-            providerData.put("specialization", provider.getSpecialization());
-            providerData.put("verificationStatus", provider.getVerificationStatus());
-            providerData.put("isActive", provider.getIsActive());
-            
-            return ResponseEntity.ok(ApiResponse.success("Provider information retrieved successfully", providerData));
+            return ResponseEntity.ok(ApiResponse.success("Provider information retrieved successfully",
+                    CurrentProviderResponse.from(provider)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(e.getMessage()));
@@ -144,7 +191,7 @@ public class AuthController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid token"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Map<String, Object>>> validateToken(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<TokenValidationResponse>> validateToken(HttpServletRequest request) {
         try {
             String authHeader = request.getHeader("Authorization");
             
@@ -154,17 +201,13 @@ public class AuthController {
             }
             
             String token = authHeader.substring(7);
-            boolean isValid = authService.validateToken(token);
-            
-            Map<String, Object> validationData = new HashMap<>();
-            validationData.put("valid", isValid);
-            
-            if (isValid) {
-                validationData.put("email", authService.getEmailFromToken(token));
-                validationData.put("role", authService.getRoleFromToken(token));
-                validationData.put("specialization", authService.getSpecializationFromToken(token));
-                validationData.put("verificationStatus", authService.getVerificationStatusFromToken(token));
-            }
+            TokenValidationResponse validationData = authService.validateToken(token)
+                    ? new TokenValidationResponse(true,
+                            authService.getEmailFromToken(token),
+                            authService.getRoleFromToken(token),
+                            authService.getSpecializationFromToken(token),
+                            authService.getVerificationStatusFromToken(token))
+                    : TokenValidationResponse.invalid();
             
             return ResponseEntity.ok(ApiResponse.success("Token validation completed", validationData));
         } catch (Exception e) {
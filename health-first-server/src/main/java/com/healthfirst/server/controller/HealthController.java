@@ -1,13 +1,50 @@
 package com.healthfirst.server.controller;
 
+import com.healthfirst.server.config.SecondLevelCacheConfig;
+import com.healthfirst.server.config.VirtualThreadPinningMonitor;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.security.BoundedPasswordEncoder;
+import com.healthfirst.server.security.LoginRateLimiter;
+import com.healthfirst.server.security.LoginTimingGuard;
+import com.healthfirst.server.service.PatientProfileCache;
+import com.healthfirst.server.service.SlotSearchExecutor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
 
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private LoginTimingGuard loginTimingGuard;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PatientProfileCache patientProfileCache;
+
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Autowired
+    private SlotSearchExecutor slotSearchExecutor;
+
     @GetMapping
     public String healthCheck() {
         return "Health First Server is running!";
@@ -17,4 +54,60 @@ public class HealthController {
     public String status() {
         return "{\"status\": \"UP\", \"message\": \"Health First Server is healthy\"}";
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/password-hashing")
+    public Map<String, Object> passwordHashingStats() {
+        return passwordEncoder.getStats();
+    }
+
+    @GetMapping("/login-throttling")
+    public Map<String, Object> loginThrottlingStats() {
+        return loginRateLimiter.getStats();
+    }
+
+    @GetMapping("/login-guard")
+    public Map<String, Object> loginGuardStats() {
+        return loginTimingGuard.getStats();
+    }
+
+    @GetMapping("/provider-cache")
+    public Map<String, Object> providerCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statistics_enabled", statistics.isStatisticsEnabled());
+        stats.put("entity", regionStats(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.PROVIDER_REGION)));
+        stats.put("natural_id", regionStats(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.PROVIDER_NATURAL_ID_REGION)));
+        stats.put("query", regionStats(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.QUERY_RESULTS_REGION)));
+        stats.put("provider_loads_from_db", statistics.getEntityStatistics(Provider.class.getName()).getLoadCount());
+        return stats;
+    }
+
+    @GetMapping("/patient-profile-cache")
+    public Map<String, Object> patientProfileCacheStats() {
+        return patientProfileCache.getStats();
+    }
+
+    @GetMapping("/slot-search")
+    public Map<String, Object> slotSearchStats() {
+        return slotSearchExecutor.getStats();
+    }
+
+    @GetMapping("/virtual-threads")
+    public Map<String, Object> virtualThreadStats() {
+        return virtualThreadPinningMonitor.getStats();
+    }
+
+    private static Map<String, Object> regionStats(CacheRegionStatistics region) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (region == null) {
+            return stats;
+        }
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", region.getPutCount());
+        stats.put("hit_rate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return stats;
+    }
+}
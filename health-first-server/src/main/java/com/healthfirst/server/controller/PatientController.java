@@ -1,11 +1,26 @@
 package com.healthfirst.server.controller;
 
 import com.healthfirst.server.dto.ApiResponse;
+import com.healthfirst.server.dto.BulkImportReport;
+import com.healthfirst.server.dto.BulkStatusUpdateRequest;
+import com.healthfirst.server.dto.BulkStatusUpdateResponse;
+import com.healthfirst.server.dto.PageResponse;
 import com.healthfirst.server.dto.PatientLoginRequest;
 import com.healthfirst.server.dto.PatientLoginResponse;
 import com.healthfirst.server.dto.PatientRegistrationRequest;
+import com.healthfirst.server.dto.PatientRegistrationResult;
 import com.healthfirst.server.dto.PatientResponse;
+import com.healthfirst.server.dto.RawJson;
+import com.healthfirst.server.dto.RefreshTokenRequest;
 import com.healthfirst.server.entity.Patient;
+import com.healthfirst.server.exception.InvalidCredentialsException;
+import com.healthfirst.server.exception.LoginThrottledException;
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
+import com.healthfirst.server.security.LoginRateLimiter;
+import com.healthfirst.server.service.AuthService;
+import com.healthfirst.server.service.BulkImportService;
+import com.healthfirst.server.service.ImportRecordReader;
+import com.healthfirst.server.service.PatientProfileCache;
 import com.healthfirst.server.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,15 +29,15 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
 import java.util.UUID;
 
 @RestController
@@ -34,6 +49,18 @@ public class PatientController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private PatientProfileCache patientProfileCache;
+
+    @Autowired
+    private AuthService authService;
+
     // POST /api/v1/patient/login
     @PostMapping("/login")
     @Operation(
@@ -61,22 +88,92 @@ public class PatientController {
                 schema = @Schema(implementation = com.healthfirst.server.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid credentials"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Authentication failed"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many login attempts or password hashing capacity exceeded, retry after the Retry-After interval"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<PatientLoginResponse>> loginPatient(
-            @Valid @RequestBody PatientLoginRequest request) {
+            @Valid @RequestBody PatientLoginRequest request,
+            HttpServletRequest httpRequest) {
         try {
+            // Reject throttled attempts before any password hashing happens
+            loginRateLimiter.acquire(LoginRateLimiter.PATIENT_REALM, request.getEmail(), httpRequest.getRemoteAddr());
+
             PatientLoginResponse response = patientService.loginPatient(request);
+            loginRateLimiter.recordSuccess(LoginRateLimiter.PATIENT_REALM, request.getEmail());
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (InvalidCredentialsException e) {
+            loginRateLimiter.recordFailure(LoginRateLimiter.PATIENT_REALM, request.getEmail());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (PasswordHashingCapacityException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("An error occurred during login"));
         }
     }
 
+    // POST /api/v1/patient/refresh-token
+    @PostMapping("/refresh-token")
+    @Operation(
+        summary = "Refresh patient access token",
+        description = "Exchange a refresh token for a new short-lived access token. The refresh token is rotated; " +
+                      "presenting an already used refresh token revokes every token issued from the same login"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Token refreshed successfully",
+            content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = com.healthfirst.server.dto.ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid, expired or revoked refresh token"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<PatientLoginResponse>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            PatientLoginResponse response = patientService.refreshPatientToken(request.getRefreshToken());
+            return ResponseEntity.ok(ApiResponse.success("Token refreshed successfully", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("An error occurred while refreshing the token"));
+        }
+    }
+
+    // POST /api/v1/patient/logout
+    @PostMapping("/logout")
+    @Operation(
+        summary = "Patient logout",
+        description = "Revoke the supplied refresh token and every token rotated from it. An access token sent " +
+                      "as a Bearer token is invalidated as well"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Logout successful"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<String>> logoutPatient(
+            HttpServletRequest httpRequest,
+            @Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            authService.logout(httpRequest.getHeader("Authorization"));
+            patientService.logoutPatient(request.getRefreshToken());
+            return ResponseEntity.ok(ApiResponse.success("Logout successful", "Successfully logged out"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("An error occurred during logout"));
+        }
+    }
+
     // POST /api/v1/patient/register
     @PostMapping("/register")
     @Operation(
@@ -125,31 +222,60 @@ public class PatientController {
                 schema = @Schema(implementation = com.healthfirst.server.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Email or phone number already exists"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Password hashing capacity exceeded, retry shortly"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Map<String, Object>>> registerPatient(
+    public ResponseEntity<ApiResponse<PatientRegistrationResult>> registerPatient(
             @Valid @RequestBody PatientRegistrationRequest request) {
         try {
-            PatientResponse response = patientService.registerPatient(request);
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("patient_id", response.getUuid());
-            data.put("email", response.getEmail());
-            data.put("phone_number", response.getPhoneNumber());
-            data.put("email_verified", response.getEmailVerified());
-            data.put("phone_verified", response.getPhoneVerified());
+            PatientRegistrationResult data = PatientRegistrationResult.from(patientService.registerPatient(request));
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Patient registered successfully. Verification email sent.", data));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (PasswordHashingCapacityException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("An error occurred while registering the patient"));
         }
     }
 
+    // POST /api/v1/patient/import
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @StatementBudget(0) // a few batches per bulk-import.batch-size rows, however large the file
+    @Operation(
+        summary = "Bulk import patients",
+        description = "Streams a CSV (header row, nested fields as dotted columns) or NDJSON body. Rows are validated " +
+                      "like single registrations; valid rows are imported even when others fail, and every failure is " +
+                      "reported with its row number. Requires an admin token"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import finished, see the per-row report"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported content type"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<BulkImportReport>> importPatients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        try {
+            BulkImportReport report = bulkImportService.importPatients(body, ImportRecordReader.Format.fromContentType(contentType));
+            return ResponseEntity.ok(ApiResponse.success("Import finished: " + report.getImported() + " imported, "
+                    + report.getFailed() + " failed", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("An error occurred while importing patients"));
+        }
+    }
+
     // GET /api/v1/patient/{uuid}
     @GetMapping("/{uuid}")
     @Operation(
@@ -157,14 +283,19 @@ public class PatientController {
         description = "Retrieve patient information by their unique identifier"
     )
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Patient found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Patient found",
+            content = @Content(schema = @Schema(implementation = PatientResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Patient not found")
     })
-    public ResponseEntity<ApiResponse<PatientResponse>> getPatientByUuid(
+    public ResponseEntity<ApiResponse<RawJson>> getPatientByUuid(
             @Parameter(description = "Patient UUID") @PathVariable UUID uuid) {
         try {
-            PatientResponse patient = patientService.getPatientByUuid(uuid);
-            return ResponseEntity.ok(ApiResponse.success("Patient retrieved successfully", patient));
+            // Served from the profile cache; PatientService invalidates it on every profile write
+            RawJson patient = patientProfileCache.getByUuid(uuid, () -> patientService.getPatientByUuid(uuid));
+            return ResponseEntity.ok()
+                    .cacheControl(ETags.REVALIDATE)
+                    .eTag(profileETag(patient))
+                    .body(ApiResponse.success("Patient retrieved successfully", patient));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -178,14 +309,18 @@ public class PatientController {
         description = "Retrieve patient information by their email address"
     )
     @ApiResponses(value = {
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Patient found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Patient found",
+            content = @Content(schema = @Schema(implementation = PatientResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Patient not found")
     })
-    public ResponseEntity<ApiResponse<PatientResponse>> getPatientByEmail(
+    public ResponseEntity<ApiResponse<RawJson>> getPatientByEmail(
             @Parameter(description = "Patient email") @PathVariable String email) {
         try {
-            PatientResponse patient = patientService.getPatientByEmail(email);
-            return ResponseEntity.ok(ApiResponse.success("Patient retrieved successfully", patient));
+            RawJson patient = patientProfileCache.getByEmail(email, () -> patientService.getPatientByEmail(email));
+            return ResponseEntity.ok()
+                    .cacheControl(ETags.REVALIDATE)
+                    .eTag(profileETag(patient))
+                    .body(ApiResponse.success("Patient retrieved successfully", patient));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -198,13 +333,15 @@ public class PatientController {
         summary = "Get all patients",
         description = "Retrieve a paginated list of all active patients"
     )
-    public ResponseEntity<ApiResponse<Page<PatientResponse>>> getAllPatients(
+    public ResponseEntity<ApiResponse<PageResponse<PatientResponse>>> getAllPatients(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Include totalElements/totalPages; false skips the COUNT query") @RequestParam(defaultValue = "true") boolean includeTotal) {
         
-        Page<PatientResponse> patients = patientService.getAllPatients(page, size, sortBy, sortDir);
+        PageResponse<PatientResponse> patients = PageResponse.of(
+                patientService.getAllPatients(page, size, sortBy, sortDir, includeTotal));
         return ResponseEntity.ok(ApiResponse.success("Patients retrieved successfully", patients));
     }
 
@@ -214,17 +351,18 @@ public class PatientController {
         summary = "Search patients",
         description = "Search patients by various criteria with pagination"
     )
-    public ResponseEntity<ApiResponse<Page<PatientResponse>>> searchPatients(
+    public ResponseEntity<ApiResponse<PageResponse<PatientResponse>>> searchPatients(
             @Parameter(description = "First name filter") @RequestParam(required = false) String firstName,
             @Parameter(description = "Last name filter") @RequestParam(required = false) String lastName,
             @Parameter(description = "Email filter") @RequestParam(required = false) String email,
             @Parameter(description = "Gender filter") @RequestParam(required = false) Patient.Gender gender,
             @Parameter(description = "Active status filter") @RequestParam(required = false) Boolean isActive,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Include totalElements/totalPages; false skips the COUNT query") @RequestParam(defaultValue = "true") boolean includeTotal) {
         
-        Page<PatientResponse> patients = patientService.searchPatients(
-            firstName, lastName, email, gender, isActive, page, size);
+        PageResponse<PatientResponse> patients = PageResponse.of(patientService.searchPatients(
+            firstName, lastName, email, gender, isActive, page, size, includeTotal));
         return ResponseEntity.ok(ApiResponse.success("Patients search completed", patients));
     }
 
@@ -334,4 +472,78 @@ public class PatientController {
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    // PATCH /api/v1/patient/bulk/deactivate
+    @PatchMapping("/bulk/deactivate")
+    @Operation(
+        summary = "Deactivate patients in bulk",
+        description = "Deactivate a list of patient accounts in a single update"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Update applied; notFound counts unknown UUIDs"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid UUID list"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> deactivatePatients(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        BulkStatusUpdateResponse response = patientService.setPatientsActive(request.getUuids(), false);
+        return ResponseEntity.ok(ApiResponse.success("Patients deactivated", response));
+    }
+
+    // PATCH /api/v1/patient/bulk/activate
+    @PatchMapping("/bulk/activate")
+    @Operation(
+        summary = "Activate patients in bulk",
+        description = "Activate a list of patient accounts in a single update"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Update applied; notFound counts unknown UUIDs"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid UUID list"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> activatePatients(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        BulkStatusUpdateResponse response = patientService.setPatientsActive(request.getUuids(), true);
+        return ResponseEntity.ok(ApiResponse.success("Patients activated", response));
+    }
+
+    // PATCH /api/v1/patient/bulk/verify-email
+    @PatchMapping("/bulk/verify-email")
+    @Operation(
+        summary = "Verify patient emails in bulk",
+        description = "Mark the emails of a list of patients as verified in a single update"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Update applied; notFound counts unknown UUIDs"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid UUID list"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> verifyEmails(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        BulkStatusUpdateResponse response = patientService.verifyEmails(request.getUuids());
+        return ResponseEntity.ok(ApiResponse.success("Emails verified", response));
+    }
+
+    // PATCH /api/v1/patient/bulk/verify-phone
+    @PatchMapping("/bulk/verify-phone")
+    @Operation(
+        summary = "Verify patient phones in bulk",
+        description = "Mark the phones of a list of patients as verified in a single update"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Update applied; notFound counts unknown UUIDs"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid UUID list"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> verifyPhones(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        BulkStatusUpdateResponse response = patientService.verifyPhones(request.getUuids());
+        return ResponseEntity.ok(ApiResponse.success("Phones verified", response));
+    }
+
+    // Tagged by content rather than updatedAt: a medical history edit alone does not touch the
+    // patient row, but it does change the cached profile. A matching If-None-Match gets a 304.
+    private static String profileETag(RawJson profile) {
+        return ETags.weak("patient", profile.getJson());
+    }
+}
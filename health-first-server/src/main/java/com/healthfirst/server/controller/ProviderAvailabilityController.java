@@ -1,27 +1,36 @@
 package com.healthfirst.server.controller;
 
+import com.healthfirst.server.config.JacksonConfig;
 import com.healthfirst.server.dto.ApiResponse;
+import com.healthfirst.server.dto.AvailabilityCreationResult;
+import com.healthfirst.server.dto.AvailabilityVersion;
+import com.healthfirst.server.dto.PageResponse;
 import com.healthfirst.server.dto.ProviderAvailabilityRequest;
 import com.healthfirst.server.dto.ProviderAvailabilityResponse;
 import com.healthfirst.server.entity.ProviderAvailability;
 import com.healthfirst.server.service.ProviderAvailabilityService;
+import com.healthfirst.server.service.SlotSearchExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/provider")
@@ -32,21 +41,22 @@ public class ProviderAvailabilityController {
     @Autowired
     private ProviderAvailabilityService availabilityService;
 
+    // Read-only search endpoints run there and answer asynchronously, freeing the servlet thread
+    @Autowired
+    private SlotSearchExecutor slotSearchExecutor;
+
+    @Value("${slot-search.max-page-size:100}")
+    private int maxPageSize;
+
     @PostMapping("/availability")
     @Operation(summary = "Create provider availability slots")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> createAvailability(
+    @StatementBudget(0) // one INSERT per generated slot (IDENTITY keys cannot be batched)
+    public ResponseEntity<ApiResponse<AvailabilityCreationResult>> createAvailability(
             @RequestParam UUID provider_id,
             @Valid @RequestBody ProviderAvailabilityRequest request) {
         try {
-            ProviderAvailabilityResponse response = availabilityService.createAvailability(provider_id, request);
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("availability_id", response.getUuid());
-            data.put("provider_id", response.getProviderId());
-            data.put("provider_name", response.getProviderName());
-            data.put("date", response.getDate());
-            data.put("start_time", response.getStartTime());
-            data.put("end_time", response.getEndTime());
+            AvailabilityCreationResult data = AvailabilityCreationResult.from(
+                    availabilityService.createAvailability(provider_id, request));
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Availability slots created successfully", data));
@@ -59,30 +69,34 @@ public class ProviderAvailabilityController {
         }
     }
 
-    @GetMapping("/{provider_id}/availability")
+    @GetMapping(value = "/{provider_id}/availability",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Get provider availability")
-    public ResponseEntity<ApiResponse<Page<ProviderAvailabilityResponse>>> getProviderAvailability(
+    public CompletableFuture<ResponseEntity<ApiResponse<PageResponse<ProviderAvailabilityResponse>>>> getProviderAvailability(
             @PathVariable("provider_id") UUID providerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start_date,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end_date,
             @RequestParam(required = false) ProviderAvailability.AvailabilityStatus status,
             @RequestParam(required = false) ProviderAvailability.AppointmentType appointment_type,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        
-        try {
-            Page<ProviderAvailabilityResponse> availabilities = availabilityService.getProviderAvailability(
-                    providerId, start_date, end_date, status, appointment_type, page, size);
-            
-            return ResponseEntity.ok(ApiResponse.success("Provider availability retrieved successfully", availabilities));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(e.getMessage()));
-        }
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean include_total,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse servletResponse) {
+
+        revalidateOnEachUse(servletResponse);
+        // Invalid arguments surface through GlobalExceptionHandler as 400, as before
+        return slotSearchExecutor.submit(() -> conditionalGet(
+                availabilityService.getAvailabilityVersion(providerId, start_date, end_date),
+                "availability:" + providerId + ":" + start_date + ":" + end_date, ifNoneMatch,
+                () -> ApiResponse.success("Provider availability retrieved successfully",
+                        PageResponse.of(availabilityService.getProviderAvailability(providerId, start_date, end_date,
+                                status, appointment_type, page, pageSize(size), include_total)))));
     }
 
     @PutMapping("/availability/{slot_id}")
     @Operation(summary = "Update specific availability slot")
+    @StatementBudget(0) // regenerates the slots, one INSERT each
     public ResponseEntity<ApiResponse<ProviderAvailabilityResponse>> updateAvailability(
             @PathVariable("slot_id") UUID slotId,
             @Valid @RequestBody ProviderAvailabilityRequest request) {
@@ -110,9 +124,10 @@ public class ProviderAvailabilityController {
         }
     }
 
-    @GetMapping("/availability/search")
+    @GetMapping(value = "/availability/search",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Search for available slots")
-    public ResponseEntity<ApiResponse<Page<ProviderAvailabilityResponse>>> searchAvailableSlots(
+    public CompletableFuture<ResponseEntity<ApiResponse<PageResponse<ProviderAvailabilityResponse>>>> searchAvailableSlots(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start_date,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end_date,
@@ -122,45 +137,78 @@ public class ProviderAvailabilityController {
             @RequestParam(required = false) Boolean insurance_accepted,
             @RequestParam(required = false) BigDecimal max_price,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        
-        try {
-            LocalDate searchStartDate = date != null ? date : start_date;
-            LocalDate searchEndDate = date != null ? date : end_date;
-            
-            if (searchStartDate == null || searchEndDate == null) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("Either date or start_date and end_date must be provided"));
-            }
-            
-            Page<ProviderAvailabilityResponse> results = availabilityService.searchAvailableSlots(
-                    searchStartDate, searchEndDate, specialization, location, appointment_type,
-                    insurance_accepted, max_price, page, size);
-            
-            return ResponseEntity.ok(ApiResponse.success("Search completed successfully", results));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(e.getMessage()));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean include_total) {
+
+        LocalDate searchStartDate = date != null ? date : start_date;
+        LocalDate searchEndDate = date != null ? date : end_date;
+
+        if (searchStartDate == null || searchEndDate == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Either date or start_date and end_date must be provided")));
         }
+
+        return slotSearchExecutor.submit(() -> PageResponse.of(availabilityService.searchAvailableSlots(
+                        searchStartDate, searchEndDate, specialization, location, appointment_type,
+                        insurance_accepted, max_price, page, pageSize(size), include_total)))
+                .thenApply(results -> ResponseEntity.ok(ApiResponse.success("Search completed successfully", results)));
     }
 
     @GetMapping("/availability/specializations")
     @Operation(summary = "Get available specializations")
     public ResponseEntity<ApiResponse<List<String>>> getAvailableSpecializations() {
         List<String> specializations = availabilityService.getAvailableSpecializations();
-        return ResponseEntity.ok(ApiResponse.success("Available specializations retrieved successfully", specializations));
+        // Depends on every provider and availability row, so the tag is taken from the (small) result:
+        // a matching If-None-Match gets a 304 that saves the serialization and transfer, not the query
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .eTag(ETags.weak("specializations", specializations))
+                .body(ApiResponse.success("Available specializations retrieved successfully", specializations));
     }
 
-    @GetMapping("/{provider_id}/upcoming-slots")
+    @GetMapping(value = "/{provider_id}/upcoming-slots",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Get upcoming slots for provider")
-    public ResponseEntity<ApiResponse<List<ProviderAvailabilityResponse>>> getUpcomingSlots(
-            @PathVariable("provider_id") UUID providerId) {
-        try {
-            List<ProviderAvailabilityResponse> upcomingSlots = availabilityService.getUpcomingSlots(providerId);
-            return ResponseEntity.ok(ApiResponse.success("Upcoming slots retrieved successfully", upcomingSlots));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error(e.getMessage()));
+    public CompletableFuture<ResponseEntity<ApiResponse<List<ProviderAvailabilityResponse>>>> getUpcomingSlots(
+            @PathVariable("provider_id") UUID providerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse servletResponse) {
+        revalidateOnEachUse(servletResponse);
+        LocalDate today = LocalDate.now();
+        return slotSearchExecutor.submit(() -> conditionalGet(
+                availabilityService.getUpcomingSlotsVersion(providerId, today),
+                "upcoming:" + providerId + ":" + today, ifNoneMatch,
+                () -> ApiResponse.success("Upcoming slots retrieved successfully",
+                        availabilityService.getUpcomingSlots(providerId))));
+    }
+
+    // Checks the cheap change stamp before loading anything, so polling an unchanged listing costs one
+    // aggregate query. The stamp is read before the rows: a write in between leaves the tag older than
+    // the body, which costs the client one extra full response but never yields a stale 304.
+    // The listing is served as JSON, CBOR or Smile under the same tag, so caches must key on Accept.
+    private static <T> ResponseEntity<ApiResponse<T>> conditionalGet(
+            Optional<AvailabilityVersion> version, String resource, String ifNoneMatch, Supplier<ApiResponse<T>> load) {
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(load.get());
+        }
+        String etag = ETags.weak(resource, version.get());
+        long lastModified = version.get().lastModifiedMillis();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).lastModified(lastModified).varyBy(HttpHeaders.ACCEPT).build();
         }
+        return ResponseEntity.ok()
+                .eTag(etag).lastModified(lastModified).varyBy(HttpHeaders.ACCEPT).body(load.get());
+    }
+
+    // Async handlers: Spring Security writes its no-store default when the initial dispatch ends,
+    // before the result exists, so Cache-Control has to be set up front rather than on the entity
+    private static void revalidateOnEachUse(HttpServletResponse servletResponse) {
+        servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, ETags.REVALIDATE.getHeaderValue());
+    }
+
+    // Caps what one search can materialize in memory
+    private int pageSize(int requested) {
+        return Math.min(requested, maxPageSize);
     }
 } 
\ No newline at end of file
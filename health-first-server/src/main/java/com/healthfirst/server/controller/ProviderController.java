@@ -1,8 +1,18 @@
 package com.healthfirst.server.controller;
 
+import com.healthfirst.server.config.JacksonConfig;
 import com.healthfirst.server.dto.ApiResponse;
+import com.healthfirst.server.dto.BulkImportReport;
+import com.healthfirst.server.dto.BulkStatusUpdateRequest;
+import com.healthfirst.server.dto.BulkStatusUpdateResponse;
+import com.healthfirst.server.dto.PageResponse;
 import com.healthfirst.server.dto.ProviderRegistrationRequest;
+import com.healthfirst.server.dto.ProviderRegistrationResult;
 import com.healthfirst.server.dto.ProviderResponse;
+import com.healthfirst.server.dto.ProviderStatsResponse;
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
+import com.healthfirst.server.service.BulkImportService;
+import com.healthfirst.server.service.ImportRecordReader;
 import com.healthfirst.server.service.ProviderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,14 +24,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.io.InputStream;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -33,6 +44,9 @@ public class ProviderController {
     @Autowired
     private ProviderService providerService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
     // POST /api/v1/provider/register
     @PostMapping("/register")
     @Operation(
@@ -73,29 +87,60 @@ public class ProviderController {
                 schema = @Schema(implementation = com.healthfirst.server.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Email or phone number already exists"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Password hashing capacity exceeded, retry shortly"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Map<String, Object>>> registerProvider(
+    public ResponseEntity<ApiResponse<ProviderRegistrationResult>> registerProvider(
             @Valid @RequestBody ProviderRegistrationRequest request) {
         try {
-            ProviderResponse response = providerService.registerProvider(request);
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("provider_id", response.getUuid());
-            data.put("email", response.getEmail());
-            data.put("verification_status", response.getVerificationStatus());
+            ProviderRegistrationResult data = ProviderRegistrationResult.from(providerService.registerProvider(request));
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Provider registered successfully. Verification email sent.", data));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (PasswordHashingCapacityException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("An error occurred while registering the provider"));
         }
     }
 
+    // POST /api/v1/provider/import
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @StatementBudget(0) // a few batches per bulk-import.batch-size rows, however large the file
+    @Operation(
+        summary = "Bulk import providers",
+        description = "Streams a CSV (header row, nested fields as dotted columns) or NDJSON body. Rows are validated " +
+                      "like single registrations; valid rows are imported even when others fail, and every failure is " +
+                      "reported with its row number. Requires an admin token"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import finished, see the per-row report"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported content type"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<BulkImportReport>> importProviders(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        try {
+            BulkImportReport report = bulkImportService.importProviders(body, ImportRecordReader.Format.fromContentType(contentType));
+            return ResponseEntity.ok(ApiResponse.success("Import finished: " + report.getImported() + " imported, "
+                    + report.getFailed() + " failed", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("An error occurred while importing providers"));
+        }
+    }
+
     // GET /api/v1/provider/{uuid}
     @GetMapping("/{uuid}")
     @Operation(
@@ -111,8 +156,16 @@ public class ProviderController {
             @Parameter(description = "Provider UUID", example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable UUID uuid) {
         try {
+            // Served from the second-level cache, so the validator costs no query; a matching
+            // If-None-Match or If-Modified-Since gets a 304 without serializing the body
             ProviderResponse provider = providerService.getProviderByUuid(uuid);
-            return ResponseEntity.ok(ApiResponse.success("Provider retrieved successfully", provider));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .cacheControl(ETags.REVALIDATE)
+                    .eTag(ETags.weak("provider", provider.getUuid(), provider.getUpdatedAt()));
+            if (provider.getUpdatedAt() != null) {
+                response.lastModified(provider.getUpdatedAt().atZone(ZoneId.systemDefault()));
+            }
+            return response.body(ApiResponse.success("Provider retrieved successfully", provider));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -144,6 +197,10 @@ public class ProviderController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
+        } catch (PasswordHashingCapacityException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("An error occurred while updating the provider"));
@@ -176,8 +233,43 @@ public class ProviderController {
         }
     }
 
+    // PATCH /api/v1/provider/bulk/deactivate
+    @PatchMapping("/bulk/deactivate")
+    @Operation(
+        summary = "Soft delete providers in bulk",
+        description = "Deactivate a list of providers in a single update"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Update applied; notFound counts unknown UUIDs"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid UUID list"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> deactivateProviders(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        BulkStatusUpdateResponse response = providerService.setProvidersActive(request.getUuids(), false);
+        return ResponseEntity.ok(ApiResponse.success("Providers deactivated", response));
+    }
+
+    // PATCH /api/v1/provider/bulk/activate
+    @PatchMapping("/bulk/activate")
+    @Operation(
+        summary = "Reactivate providers in bulk",
+        description = "Reactivate a list of soft-deleted providers in a single update"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Update applied; notFound counts unknown UUIDs"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid UUID list"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not an admin token")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> activateProviders(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        BulkStatusUpdateResponse response = providerService.setProvidersActive(request.getUuids(), true);
+        return ResponseEntity.ok(ApiResponse.success("Providers activated", response));
+    }
+
     // GET /api/v1/provider/all
-    @GetMapping("/all")
+    @GetMapping(value = "/all",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(
         summary = "Get all providers with pagination",
         description = "Retrieve all providers with pagination, sorting, and filtering options"
@@ -186,7 +278,7 @@ public class ProviderController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Providers retrieved successfully"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Page<ProviderResponse>>> getAllProviders(
+    public ResponseEntity<ApiResponse<PageResponse<ProviderResponse>>> getAllProviders(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
@@ -194,9 +286,12 @@ public class ProviderController {
             @Parameter(description = "Sort field", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Include totalElements/totalPages; false skips the COUNT query", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         try {
-            Page<ProviderResponse> providers = providerService.getAllProviders(page, size, sortBy, sortDir);
+            PageResponse<ProviderResponse> providers = PageResponse.of(
+                    providerService.getAllProviders(page, size, sortBy, sortDir, includeTotal));
             return ResponseEntity.ok(ApiResponse.success("Providers retrieved successfully", providers));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -205,7 +300,8 @@ public class ProviderController {
     }
 
     // GET /api/v1/provider/search
-    @GetMapping("/search")
+    @GetMapping(value = "/search",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(
         summary = "Search providers with filters",
         description = "Search providers with various filters including search term, verification status, and active status"
@@ -215,7 +311,7 @@ public class ProviderController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid search parameters"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Page<ProviderResponse>>> searchProviders(
+    public ResponseEntity<ApiResponse<PageResponse<ProviderResponse>>> searchProviders(
             @Parameter(description = "Search term for name, email, or specialization")
             @RequestParam(required = false) String search,
             @Parameter(description = "Verification status filter", example = "VERIFIED")
@@ -229,10 +325,12 @@ public class ProviderController {
             @Parameter(description = "Sort field", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Include totalElements/totalPages; false skips the COUNT query", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         try {
-            Page<ProviderResponse> providers = providerService.searchProviders(
-                    search, verificationStatus, isActive, page, size, sortBy, sortDir);
+            PageResponse<ProviderResponse> providers = PageResponse.of(providerService.searchProviders(
+                    search, verificationStatus, isActive, page, size, sortBy, sortDir, includeTotal));
             return ResponseEntity.ok(ApiResponse.success("Providers search completed successfully", providers));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
@@ -244,7 +342,8 @@ public class ProviderController {
     }
 
     // GET /api/v1/provider/active
-    @GetMapping("/active")
+    @GetMapping(value = "/active",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(
         summary = "Get active providers",
         description = "Retrieve only active providers with pagination and sorting"
@@ -253,7 +352,7 @@ public class ProviderController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Active providers retrieved successfully"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Page<ProviderResponse>>> getActiveProviders(
+    public ResponseEntity<ApiResponse<PageResponse<ProviderResponse>>> getActiveProviders(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
@@ -261,9 +360,12 @@ public class ProviderController {
             @Parameter(description = "Sort field", example = "createdAt")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Include totalElements/totalPages; false skips the COUNT query", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         try {
-            Page<ProviderResponse> providers = providerService.getActiveProviders(page, size, sortBy, sortDir);
+            PageResponse<ProviderResponse> providers = PageResponse.of(
+                    providerService.getActiveProviders(page, size, sortBy, sortDir, includeTotal));
             return ResponseEntity.ok(ApiResponse.success("Active providers retrieved successfully", providers));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -272,7 +374,8 @@ public class ProviderController {
     }
 
     // GET /api/v1/provider/list
-    @GetMapping("/list")
+    @GetMapping(value = "/list",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.APPLICATION_SMILE_VALUE})
     @Operation(
         summary = "Get all providers list",
         description = "Retrieve all providers as a simple list without pagination"
@@ -301,18 +404,20 @@ public class ProviderController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Provider statistics retrieved successfully"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getProviderStats() {
+    public ResponseEntity<ApiResponse<ProviderStatsResponse>> getProviderStats() {
         try {
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("total_providers", providerService.countByIsActive(true) + providerService.countByIsActive(false));
-            stats.put("active_providers", providerService.countByIsActive(true));
-            stats.put("inactive_providers", providerService.countByIsActive(false));
-            stats.put("pending_verification", providerService.countByVerificationStatus(
-                    com.healthfirst.server.entity.Provider.VerificationStatus.PENDING));
-            stats.put("verified_providers", providerService.countByVerificationStatus(
-                    com.healthfirst.server.entity.Provider.VerificationStatus.VERIFIED));
-            stats.put("rejected_providers", providerService.countByVerificationStatus(
-                    com.healthfirst.server.entity.Provider.VerificationStatus.REJECTED));
+            long active = providerService.countByIsActive(true);
+            long inactive = providerService.countByIsActive(false);
+            ProviderStatsResponse stats = new ProviderStatsResponse(
+                    active + inactive,
+                    active,
+                    inactive,
+                    providerService.countByVerificationStatus(
+                            com.healthfirst.server.entity.Provider.VerificationStatus.PENDING),
+                    providerService.countByVerificationStatus(
+                            com.healthfirst.server.entity.Provider.VerificationStatus.VERIFIED),
+                    providerService.countByVerificationStatus(
+                            com.healthfirst.server.entity.Provider.VerificationStatus.REJECTED));
             
             return ResponseEntity.ok(ApiResponse.success("Provider statistics retrieved successfully", stats));
         } catch (Exception e) {
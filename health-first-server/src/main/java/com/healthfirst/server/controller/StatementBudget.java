@@ -0,0 +1,15 @@
+package com.healthfirst.server.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Replaces statement-budget.max-per-request for one handler (see RequestSqlStatistics), for endpoints
+// whose JDBC round trips legitimately grow with the request body. 0 turns the budget off.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,23 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// Payload of POST /api/v1/provider/availability
+public record AvailabilityCreationResult(
+        @JsonProperty("availability_id") UUID availabilityId,
+        @JsonProperty("provider_id") UUID providerId,
+        @JsonProperty("provider_name") String providerName,
+        @JsonProperty("date") LocalDate date,
+        @JsonProperty("start_time") LocalTime startTime,
+        @JsonProperty("end_time") LocalTime endTime) {
+
+    public static AvailabilityCreationResult from(ProviderAvailabilityResponse availability) {
+        return new AvailabilityCreationResult(availability.getUuid(), availability.getProviderId(),
+                availability.getProviderName(), availability.getDate(), availability.getStartTime(),
+                availability.getEndTime());
+    }
+}
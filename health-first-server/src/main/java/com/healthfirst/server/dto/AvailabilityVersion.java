@@ -0,0 +1,19 @@
+package com.healthfirst.server.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+// Change stamp of one provider's availability over a date range, for conditional GETs. Row count
+// catches deletions; the provider's own update time covers the name and specialization copied into
+// every listed row.
+public record AvailabilityVersion(LocalDateTime providerUpdatedAt, ZonedDateTime lastRowUpdate, long rowCount) {
+
+    // Provider timestamps are stored in JVM-local time
+    public long lastModifiedMillis() {
+        long provider = providerUpdatedAt != null
+                ? providerUpdatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+        long rows = lastRowUpdate != null ? lastRowUpdate.toInstant().toEpochMilli() : 0L;
+        return Math.max(provider, rows);
+    }
+}
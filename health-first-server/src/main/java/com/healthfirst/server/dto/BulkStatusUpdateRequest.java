@@ -0,0 +1,36 @@
+package com.healthfirst.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "UUIDs to update in a single statement")
+public class BulkStatusUpdateRequest {
+
+    // Bounds the IN (...) list of the UPDATE; the services enforce it as well
+    public static final int MAX_UUIDS = 1000;
+
+    @Schema(description = "Accounts to update; duplicates are ignored")
+    @NotEmpty(message = "At least one UUID is required")
+    @Size(max = MAX_UUIDS, message = "At most " + MAX_UUIDS + " UUIDs can be updated per request")
+    private List<UUID> uuids;
+
+    // Constructors
+    public BulkStatusUpdateRequest() {}
+
+    public BulkStatusUpdateRequest(List<UUID> uuids) {
+        this.uuids = uuids;
+    }
+
+    // Getters and Setters
+    public List<UUID> getUuids() {
+        return uuids;
+    }
+
+    public void setUuids(List<UUID> uuids) {
+        this.uuids = uuids;
+    }
+}
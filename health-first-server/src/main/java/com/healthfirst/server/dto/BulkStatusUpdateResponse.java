@@ -0,0 +1,50 @@
+package com.healthfirst.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a bulk status update")
+public class BulkStatusUpdateResponse {
+
+    @Schema(description = "Distinct UUIDs in the request")
+    private int requested;
+
+    @Schema(description = "Accounts the update matched")
+    private int updated;
+
+    @Schema(description = "Requested UUIDs that matched no account")
+    private int notFound;
+
+    // Constructors
+    public BulkStatusUpdateResponse() {}
+
+    public BulkStatusUpdateResponse(int requested, int updated) {
+        this.requested = requested;
+        this.updated = updated;
+        this.notFound = requested - updated;
+    }
+
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(int notFound) {
+        this.notFound = notFound;
+    }
+}
@@ -0,0 +1,22 @@
+package com.healthfirst.server.dto;
+
+import com.healthfirst.server.entity.Provider;
+
+import java.util.UUID;
+
+// Payload of GET /api/v1/provider/me
+public record CurrentProviderResponse(
+        UUID uuid,
+        String email,
+        String firstName,
+        String lastName,
+        String specialization,
+        Provider.VerificationStatus verificationStatus,
+        Boolean isActive) {
+
+    public static CurrentProviderResponse from(Provider provider) {
+        return new CurrentProviderResponse(provider.getUuid(), provider.getEmail(), provider.getFirstName(),
+                provider.getLastName(), provider.getSpecialization(), provider.getVerificationStatus(),
+                provider.getIsActive());
+    }
+}
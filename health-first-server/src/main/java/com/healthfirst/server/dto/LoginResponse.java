@@ -10,8 +10,14 @@ public class LoginResponse {
     @Schema(description = "JWT access token", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String accessToken;
     
-    @Schema(description = "Token expiration time in seconds", example = "3600")
+    @Schema(description = "Token expiration time in seconds", example = "900")
     private long expiresIn;
+
+    @Schema(description = "Opaque refresh token used to obtain a new access token", example = "q3N0Zm9vYmFyYmF6...")
+    private String refreshToken;
+
+    @Schema(description = "Refresh token expiration time in seconds", example = "1209600")
+    private long refreshExpiresIn;
     
     @Schema(description = "Token type", example = "Bearer")
     private String tokenType;
@@ -30,6 +36,12 @@ public class LoginResponse {
         this.provider = new ProviderData(provider);
     }
 
+    public LoginResponse(String accessToken, long expiresIn, String refreshToken, long refreshExpiresIn, Provider provider) {
+        this(accessToken, expiresIn, provider);
+        this.refreshToken = refreshToken;
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
+
     // Getters and Setters
     public String getAccessToken() {
         return accessToken;
@@ -47,6 +59,22 @@ public class LoginResponse {
         this.expiresIn = expiresIn;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+
+    public void setRefreshExpiresIn(long refreshExpiresIn) {
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
+
     public String getTokenType() {
         return tokenType;
     }
@@ -0,0 +1,112 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.util.List;
+
+// Compact page envelope: the rows, where the next page is, and the totals only when they were counted.
+// Written field by field instead of through Spring Data's PageImpl, whose pageable/sort internals are
+// bulky and change between releases:
+//   {"content":[...],"page":0,"size":10,"hasNext":true,"nextPage":1,"totalElements":42,"totalPages":5}
+@Schema(description = "Page of results")
+public final class PageResponse<T> implements JsonSerializable {
+
+    @Schema(description = "Rows of this page")
+    private final List<T> content;
+
+    @Schema(description = "Page number (0-based)")
+    private final int page;
+
+    @Schema(description = "Requested page size")
+    private final int size;
+
+    @Schema(description = "Whether another page follows")
+    private final boolean hasNext;
+
+    @Schema(description = "Total matching rows; omitted when the count was skipped")
+    private final Long totalElements;
+
+    @Schema(description = "Total pages; omitted when the count was skipped")
+    private final Integer totalPages;
+
+    private PageResponse(List<T> content, int page, int size, boolean hasNext, Long totalElements, Integer totalPages) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    // A Page carries its COUNT result; a plain Slice was fetched without one
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        if (slice instanceof Page<T> counted) {
+            return new PageResponse<>(counted.getContent(), counted.getNumber(), counted.getSize(),
+                    counted.hasNext(), counted.getTotalElements(), counted.getTotalPages());
+        }
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null, null);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("content");
+        for (T row : content) {
+            serializers.defaultSerializeValue(row, gen);
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("page", page);
+        gen.writeNumberField("size", size);
+        gen.writeBooleanField("hasNext", hasNext);
+        if (hasNext) {
+            gen.writeNumberField("nextPage", page + 1);
+        }
+        if (totalElements != null) {
+            gen.writeNumberField("totalElements", totalElements);
+            gen.writeNumberField("totalPages", totalPages);
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Integer getNextPage() {
+        return hasNext ? page + 1 : null;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+}
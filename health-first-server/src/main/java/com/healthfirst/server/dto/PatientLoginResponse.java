@@ -17,6 +17,12 @@ public class PatientLoginResponse {
     @Schema(description = "Token type")
     private String tokenType;
 
+    @Schema(description = "Opaque refresh token used to obtain a new access token")
+    private String refreshToken;
+
+    @Schema(description = "Refresh token expiration time in seconds")
+    private Long refreshExpiresIn;
+
     @Schema(description = "Patient data")
     private PatientData patient;
 
@@ -30,6 +36,13 @@ public class PatientLoginResponse {
         this.patient = patient;
     }
 
+    public PatientLoginResponse(String accessToken, Long expiresIn, String tokenType,
+                                String refreshToken, Long refreshExpiresIn, PatientData patient) {
+        this(accessToken, expiresIn, tokenType, patient);
+        this.refreshToken = refreshToken;
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
+
     // Getters and Setters
     public String getAccessToken() {
         return accessToken;
@@ -55,6 +68,22 @@ public class PatientLoginResponse {
         this.tokenType = tokenType;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+
+    public void setRefreshExpiresIn(Long refreshExpiresIn) {
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
+
     public PatientData getPatient() {
         return patient;
     }
@@ -0,0 +1,19 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+// Payload of POST /api/v1/patient/register
+public record PatientRegistrationResult(
+        @JsonProperty("patient_id") UUID patientId,
+        @JsonProperty("email") String email,
+        @JsonProperty("phone_number") String phoneNumber,
+        @JsonProperty("email_verified") Boolean emailVerified,
+        @JsonProperty("phone_verified") Boolean phoneVerified) {
+
+    public static PatientRegistrationResult from(PatientResponse patient) {
+        return new PatientRegistrationResult(patient.getUuid(), patient.getEmail(), patient.getPhoneNumber(),
+                patient.getEmailVerified(), patient.getPhoneVerified());
+    }
+}
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -108,7 +109,9 @@ public class ProviderAvailabilityResponse {
         this.location = availability.getLocation() != null ? new LocationResponse(availability.getLocation()) : null;
         this.pricing = availability.getPricing() != null ? new PricingResponse(availability.getPricing()) : null;
         this.notes = availability.getNotes();
-        this.specialRequirements = availability.getSpecialRequirements();
+        // Copied while the session is open; responses may be serialized on another thread (async search)
+        this.specialRequirements = availability.getSpecialRequirements() != null
+                ? new ArrayList<>(availability.getSpecialRequirements()) : null;
         this.createdAt = availability.getCreatedAt();
         this.updatedAt = availability.getUpdatedAt();
     }
@@ -0,0 +1,17 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthfirst.server.entity.Provider;
+
+import java.util.UUID;
+
+// Payload of POST /api/v1/provider/register
+public record ProviderRegistrationResult(
+        @JsonProperty("provider_id") UUID providerId,
+        @JsonProperty("email") String email,
+        @JsonProperty("verification_status") Provider.VerificationStatus verificationStatus) {
+
+    public static ProviderRegistrationResult from(ProviderResponse provider) {
+        return new ProviderRegistrationResult(provider.getUuid(), provider.getEmail(), provider.getVerificationStatus());
+    }
+}
@@ -0,0 +1,13 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Payload of GET /api/v1/provider/stats
+public record ProviderStatsResponse(
+        @JsonProperty("total_providers") long totalProviders,
+        @JsonProperty("active_providers") long activeProviders,
+        @JsonProperty("inactive_providers") long inactiveProviders,
+        @JsonProperty("pending_verification") long pendingVerification,
+        @JsonProperty("verified_providers") long verifiedProviders,
+        @JsonProperty("rejected_providers") long rejectedProviders) {
+}
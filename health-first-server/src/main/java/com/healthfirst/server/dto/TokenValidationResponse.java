@@ -0,0 +1,17 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Payload of POST /api/v1/provider/validate-token; an invalid token carries only "valid": false
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenValidationResponse(
+        boolean valid,
+        String email,
+        String role,
+        String specialization,
+        String verificationStatus) {
+
+    public static TokenValidationResponse invalid() {
+        return new TokenValidationResponse(false, null, null, null, null);
+    }
+}
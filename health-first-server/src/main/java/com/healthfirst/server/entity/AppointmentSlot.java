@@ -9,7 +9,10 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "appointment_slots")
+@Table(name = "appointment_slots", indexes = {
+    @Index(name = "idx_appointment_slots_availability_id", columnList = "availability_id"),
+    @Index(name = "idx_appointment_slots_provider_start", columnList = "provider_id, slot_start_time")
+})
 public class AppointmentSlot {
 
     @Id
@@ -17,7 +20,7 @@ public class AppointmentSlot {
     private Long id;
 
     @Column(nullable = false, unique = true, updatable = false)
-    private UUID uuid = UUID.randomUUID();
+    private UUID uuid = UuidV7.generate();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "availability_id", nullable = false)
@@ -1,5 +1,6 @@
 package com.healthfirst.server.entity;
 
+import com.healthfirst.server.security.KnownEmailListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,9 +13,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(KnownEmailListener.class)
+// Named so unique violations can be mapped back to a field (see UniqueConstraintTranslator)
 @Table(name = "patients", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"email"}),
-    @UniqueConstraint(columnNames = {"phone_number"})
+    @UniqueConstraint(name = "uk_patients_email", columnNames = {"email"}),
+    @UniqueConstraint(name = "uk_patients_phone_number", columnNames = {"phone_number"})
 })
 @Data
 @NoArgsConstructor
@@ -26,7 +29,7 @@ public class Patient {
 
     @Column(nullable = false, unique = true, updatable = false)
     @Builder.Default
-    private UUID uuid = UUID.randomUUID();
+    private UUID uuid = UuidV7.generate();
 
     @NotBlank @Size(min = 2, max = 50)
     @Column(nullable = false)
@@ -37,12 +40,12 @@ public class Patient {
     private String lastName;
 
     @NotBlank @Email
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank
     @Pattern(regexp = "^\\+[1-9]\\d{1,14}$")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String phoneNumber;
 
     @NotBlank
@@ -1,21 +1,40 @@
 package com.healthfirst.server.entity;
 
+import com.healthfirst.server.security.KnownEmailListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "providers")
+@EntityListeners(KnownEmailListener.class)
+// Read on nearly every request; Hibernate keeps the cached copy in step with its own writes
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Slot searches return rows of many providers; lazy proxies missing from the cache load in one query
+@BatchSize(size = 100)
+@NaturalIdCache
+// Named so unique violations can be mapped back to a field (see UniqueConstraintTranslator)
+@Table(name = "providers", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_providers_email", columnNames = {"email"}),
+    @UniqueConstraint(name = "uk_providers_phone_number", columnNames = {"phone_number"}),
+    @UniqueConstraint(name = "uk_providers_license_number", columnNames = {"license_number"})
+})
 public class Provider {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private UUID uuid;
 
@@ -31,12 +50,12 @@ public class Provider {
 
     @Email(message = "Email must be a valid email format")
     @NotBlank(message = "Email is required")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank(message = "Phone number is required")
     @Pattern(regexp = "^\\+[1-9]\\d{1,14}$", message = "Phone number must be in international format")
-    @Column(name = "phone_number", unique = true, nullable = false)
+    @Column(name = "phone_number", nullable = false)
     private String phoneNumber;
 
     @NotBlank(message = "Password hash is required")
@@ -50,7 +69,7 @@ public class Provider {
 
     @NotBlank(message = "License number is required")
     @Pattern(regexp = "^[A-Za-z0-9]+$", message = "License number must be alphanumeric")
-    @Column(name = "license_number", unique = true, nullable = false)
+    @Column(name = "license_number", nullable = false)
     private String licenseNumber;
 
     @Min(value = 0, message = "Years of experience must be at least 0")
@@ -84,7 +103,7 @@ public class Provider {
 
     // Constructors
     public Provider() {
-        this.uuid = UUID.randomUUID();
+        this.uuid = UuidV7.generate();
     }
 
     // Getters and Setters
@@ -2,18 +2,24 @@ package com.healthfirst.server.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "provider_availability")
+@Table(name = "provider_availability", indexes = {
+    // Per-provider lookups filter on the foreign key and date (overlap checks, date-range listings).
+    // The schema itself comes from db/migration; keep these in step with it.
+    @Index(name = "idx_provider_availability_provider_date_start", columnList = "provider_id, date, start_time")
+})
 public class ProviderAvailability {
 
     @Id
@@ -21,7 +27,7 @@ public class ProviderAvailability {
     private Long id;
 
     @Column(nullable = false, unique = true, updatable = false)
-    private UUID uuid = UUID.randomUUID();
+    private UUID uuid = UuidV7.generate();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "provider_id", nullable = false)
@@ -43,6 +49,14 @@ public class ProviderAvailability {
     @Column(nullable = false)
     private String timezone;
 
+    // Absolute bounds of date/startTime/endTime in the availability's timezone, kept in step on
+    // every write. On PostgreSQL they feed the tstzrange behind the overlap exclusion constraint.
+    @Column(name = "starts_at", nullable = false)
+    private ZonedDateTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private ZonedDateTime endsAt;
+
     @Column(name = "is_recurring", nullable = false)
     private Boolean isRecurring = false;
 
@@ -100,7 +114,10 @@ public class ProviderAvailability {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Listings map each row's requirements into the response; load them for up to a full page of
+    // rows (slot-search.max-page-size) in one query instead of one query per row
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "provider_availability_special_requirements", 
                      joinColumns = @JoinColumn(name = "availability_id"))
     @Column(name = "requirement")
@@ -294,6 +311,22 @@ public class ProviderAvailability {
         this.updatedAt = updatedAt;
     }
 
+    public ZonedDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public ZonedDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void syncTimeRange() {
+        ZoneId zone = ZoneId.of(timezone);
+        startsAt = ZonedDateTime.of(date, startTime, zone);
+        endsAt = ZonedDateTime.of(date, endTime, zone);
+    }
+
     // Enums
     public enum RecurrencePattern {
         DAILY, WEEKLY, MONTHLY
@@ -0,0 +1,56 @@
+package com.healthfirst.server.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time-ordered UUIDs (RFC 9562 version 7) for the public uuid columns. Random v4 values land all
+// over the unique index, so every insert touches a cold page; v7 values share a millisecond
+// prefix and append near the right edge of the B-tree instead.
+//
+// Layout: 48-bit Unix millis | version 7 | 12-bit counter | variant | 62 random bits.
+// The counter keeps values strictly increasing within this JVM, even when the clock stalls or
+// steps back; if it overflows inside one millisecond the timestamp borrows the next one.
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // Unix millis << 12 | counter of the last value handed out, advanced by CAS (no lock)
+    private static final AtomicLong LAST = new AtomicLong();
+
+    // One generator per thread keeps the random tail off a shared lock
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private UuidV7() {}
+
+    public static UUID generate() {
+        SecureRandom random = RANDOM.get();
+        long millis = System.currentTimeMillis();
+
+        long prev;
+        long next;
+        do {
+            prev = LAST.get();
+            // A new millisecond starts the counter at a random point in its lower half, leaving
+            // headroom for values generated later in the same millisecond
+            long fresh = (millis << COUNTER_BITS) | random.nextInt(1 << (COUNTER_BITS - 1));
+            next = fresh > prev ? fresh : prev + 1;
+        } while (!LAST.compareAndSet(prev, next));
+
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & COUNTER_MASK;
+
+        long msb = (timestamp << 16) | 0x7000L | counter;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    // Creation time embedded in a v7 value, in Unix millis
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
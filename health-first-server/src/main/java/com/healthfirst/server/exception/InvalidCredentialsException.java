@@ -0,0 +1,10 @@
+package com.healthfirst.server.exception;
+
+// Unknown email or wrong password at login. Only these count towards the login lockout: the other
+// login rejections (deactivated, not yet verified) come after a correct password
+public class InvalidCredentialsException extends IllegalArgumentException {
+
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
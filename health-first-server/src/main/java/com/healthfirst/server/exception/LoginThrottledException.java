@@ -0,0 +1,16 @@
+package com.healthfirst.server.exception;
+
+// Thrown when a login attempt is rejected by the per-IP / per-account limiter or an active lockout
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
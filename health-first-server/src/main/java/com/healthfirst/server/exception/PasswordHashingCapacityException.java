@@ -0,0 +1,13 @@
+package com.healthfirst.server.exception;
+
+// Thrown when the bounded password hashing pool cannot accept or finish work in time
+public class PasswordHashingCapacityException extends RuntimeException {
+
+    public PasswordHashingCapacityException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingCapacityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
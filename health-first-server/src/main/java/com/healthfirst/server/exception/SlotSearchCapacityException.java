@@ -0,0 +1,13 @@
+package com.healthfirst.server.exception;
+
+// Thrown when the bounded slot search pool cannot accept or start a search in time
+public class SlotSearchCapacityException extends RuntimeException {
+
+    public SlotSearchCapacityException(String message) {
+        super(message);
+    }
+
+    public SlotSearchCapacityException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.healthfirst.server.exception;
+
+// Thrown by the statement that takes a request past its JDBC statement budget, when the budget is
+// enforced (statement-budget.enforce, set for tests)
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
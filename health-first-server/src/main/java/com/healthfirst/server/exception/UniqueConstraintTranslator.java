@@ -0,0 +1,49 @@
+package com.healthfirst.server.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+
+// Maps a unique-constraint violation from an INSERT/UPDATE back to a field-specific message, so
+// writes can rely on the database constraints instead of pre-checking every column with a query.
+public final class UniqueConstraintTranslator {
+
+    private UniqueConstraintTranslator() {
+    }
+
+    // messagesByColumn is keyed by column name; matched against the named constraint first
+    // (uk_<table>_<column>), then against the key column the driver reports in its message
+    public static IllegalArgumentException translate(DataIntegrityViolationException ex,
+                                                     Map<String, String> messagesByColumn) {
+        String constraintName = null;
+        StringBuilder text = new StringBuilder();
+        for (Throwable cause = ex; cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                constraintName = violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+            if (cause.getMessage() != null) {
+                text.append(cause.getMessage().toLowerCase(Locale.ROOT)).append('\n');
+            }
+        }
+
+        if (constraintName != null) {
+            for (Map.Entry<String, String> entry : messagesByColumn.entrySet()) {
+                if (constraintName.endsWith("_" + entry.getKey())) {
+                    return new IllegalArgumentException(entry.getValue());
+                }
+            }
+        }
+
+        // PostgreSQL reports "Key (email)=(...)", H2 reports "PROVIDERS(EMAIL NULLS FIRST)"
+        for (Map.Entry<String, String> entry : messagesByColumn.entrySet()) {
+            if (text.indexOf("(" + entry.getKey() + ")") >= 0 || text.indexOf("(" + entry.getKey() + " ") >= 0) {
+                return new IllegalArgumentException(entry.getValue());
+            }
+        }
+
+        // Not one of ours (e.g. a NOT NULL violation); let the original error surface
+        throw ex;
+    }
+}
@@ -1,20 +1,27 @@
 package com.healthfirst.server.middleware;
 
+import com.healthfirst.server.service.AuthService;
 import com.healthfirst.server.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,7 +30,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private AuthService authService;
+
+    // auth.jwt.verification{outcome="valid|invalid|revoked"} timer and span: token parsing only, not the
+    // rest of the chain
+    @Autowired
+    private ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -37,27 +49,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        try {
+        Observation observation = Observation.start("auth.jwt.verification", observationRegistry);
+        String outcome = "invalid";
+        try (Observation.Scope scope = observation.openScope()) {
             final String jwt = authHeader.substring(7);
             
-            // Validate token
-            if (jwtService.validateToken(jwt) && !jwtService.isTokenExpired(jwt)) {
-                String email = jwtService.extractEmail(jwt);
-                
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                    
+            // Signature and expiry are verified locally in one parse; account state is
+            // re-checked when the short-lived token is refreshed, not on every request. Logged out
+            // tokens are refused until they expire (an in-memory lookup)
+            Claims claims = jwtService.parseToken(jwt);
+            String email = claims.getSubject();
+            String role = claims.get("role", String.class);
+
+            if (authService.isTokenBlacklisted(jwt)) {
+                outcome = "revoked";
+            } else {
+                if (email != null && role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        new TokenPrincipal(email, role, subjectUuid(claims, role)), null, authorities(claims, role));
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
+                outcome = "valid";
             }
         } catch (Exception e) {
             // Log the exception but don't throw it to avoid breaking the filter chain
             logger.error("JWT authentication error: " + e.getMessage());
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
         }
 
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    // ROLE_PROVIDER or ROLE_PATIENT from the role claim, plus ROLE_ADMIN for providers listed in
+    // jwt.admin-emails when the token was issued
+    private static List<GrantedAuthority> authorities(Claims claims, String role) {
+        List<GrantedAuthority> authorities = new ArrayList<>(2);
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        if (Boolean.TRUE.equals(claims.get("admin", Boolean.class))) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return authorities;
+    }
+
+    private static UUID subjectUuid(Claims claims, String role) {
+        String uuid = claims.get("PATIENT".equals(role) ? "patient_id" : "provider_id", String.class);
+        return uuid != null ? UUID.fromString(uuid) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.healthfirst.server.middleware;
+
+import java.security.Principal;
+import java.util.UUID;
+
+// The caller behind a verified access token: the claims SecurityConfig needs to tell a patient's
+// own profile from someone else's, without loading the account
+public record TokenPrincipal(String email, String role, UUID subjectUuid) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -89,9 +90,9 @@ public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot
             @Param("currentTime") ZonedDateTime currentTime
     );
 
-    @Query("SELECT as FROM AppointmentSlot as WHERE " +
-           "as.availability.uuid = :availabilityId")
-    List<AppointmentSlot> findByAvailabilityUuid(@Param("availabilityId") UUID availabilityId);
+    // Filters on the availability_id foreign key directly instead of joining provider_availability by uuid
+    @Query("SELECT as FROM AppointmentSlot as WHERE as.availability.id IN :availabilityIds")
+    List<AppointmentSlot> findByAvailabilityIdIn(@Param("availabilityIds") Collection<Long> availabilityIds);
 
     @Query("SELECT as FROM AppointmentSlot as WHERE " +
            "as.status = 'BOOKED' " +
@@ -3,13 +3,18 @@ package com.healthfirst.server.repository;
 import com.healthfirst.server.entity.Patient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
@@ -18,19 +23,35 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
 
     Optional<Patient> findByEmail(String email);
 
+    // Existence and id lookups that read only the uuid index, never the row
+    boolean existsByUuid(UUID uuid);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.uuid = :uuid")
+    Optional<Long> findIdByUuid(@Param("uuid") UUID uuid);
+
     boolean existsByEmail(String email);
 
-    boolean existsByPhoneNumber(String phoneNumber);
+    // Projection only, for warming the login Bloom filter; must be consumed inside a transaction
+    @Query("SELECT p.email FROM Patient p")
+    Stream<String> streamAllEmails();
 
-    @Query("SELECT p FROM Patient p WHERE p.isActive = true")
-    Page<Patient> findAllActive(Pageable pageable);
+    boolean existsByPhoneNumber(String phoneNumber);
 
-    @Query("SELECT p FROM Patient p WHERE " +
+    // Slice variants share the Page queries but fetch one extra row instead of running the COUNT
+    String FILTER_QUERY = "SELECT p FROM Patient p WHERE " +
            "(:firstName IS NULL OR LOWER(p.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
            "(:lastName IS NULL OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
            "(:email IS NULL OR LOWER(p.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
            "(:gender IS NULL OR p.gender = :gender) AND " +
-           "(:isActive IS NULL OR p.isActive = :isActive)")
+           "(:isActive IS NULL OR p.isActive = :isActive)";
+
+    @Query("SELECT p FROM Patient p WHERE p.isActive = true")
+    Page<Patient> findAllActive(Pageable pageable);
+
+    @Query("SELECT p FROM Patient p WHERE p.isActive = true")
+    Slice<Patient> sliceAllActive(Pageable pageable);
+
+    @Query(FILTER_QUERY)
     Page<Patient> findByFilters(
             @Param("firstName") String firstName,
             @Param("lastName") String lastName,
@@ -39,4 +60,32 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
             @Param("isActive") Boolean isActive,
             Pageable pageable
     );
-} 
\ No newline at end of file
+
+    @Query(FILTER_QUERY)
+    Slice<Patient> sliceByFilters(
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("email") String email,
+            @Param("gender") Patient.Gender gender,
+            @Param("isActive") Boolean isActive,
+            Pageable pageable
+    );
+
+    // Status flips as one targeted UPDATE instead of load + dirty check + full-row update per patient.
+    // Bulk statements skip @UpdateTimestamp, so callers pass the timestamp; the count tells them how many matched.
+    @Modifying
+    @Query("UPDATE Patient p SET p.isActive = :active, p.updatedAt = :now WHERE p.uuid IN :uuids")
+    int updateActiveByUuidIn(
+            @Param("uuids") Collection<UUID> uuids,
+            @Param("active") boolean active,
+            @Param("now") ZonedDateTime now
+    );
+
+    @Modifying
+    @Query("UPDATE Patient p SET p.emailVerified = true, p.updatedAt = :now WHERE p.uuid IN :uuids")
+    int markEmailVerifiedByUuidIn(@Param("uuids") Collection<UUID> uuids, @Param("now") ZonedDateTime now);
+
+    @Modifying
+    @Query("UPDATE Patient p SET p.phoneVerified = true, p.updatedAt = :now WHERE p.uuid IN :uuids")
+    int markPhoneVerifiedByUuidIn(@Param("uuids") Collection<UUID> uuids, @Param("now") ZonedDateTime now);
+}
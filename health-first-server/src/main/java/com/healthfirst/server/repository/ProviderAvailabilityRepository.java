@@ -1,8 +1,10 @@
 package com.healthfirst.server.repository;
 
+import com.healthfirst.server.dto.AvailabilityVersion;
 import com.healthfirst.server.entity.ProviderAvailability;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,17 +18,32 @@ import java.util.UUID;
 @Repository
 public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAvailability, Long> {
 
+    // Queries taking a Long providerId filter on the provider_id foreign key itself (no join to
+    // providers); resolve public UUIDs with EntityReferenceResolver first
+
+    // Shared by the Page and Slice variants below; the Slice one skips the COUNT query
+    String PROVIDER_DATE_RANGE_QUERY = "SELECT pa FROM ProviderAvailability pa WHERE pa.provider.id = :providerId " +
+           "AND pa.date BETWEEN :startDate AND :endDate " +
+           "AND (:status IS NULL OR pa.status = :status) " +
+           "AND (:appointmentType IS NULL OR pa.appointmentType = :appointmentType)";
+
+    String AVAILABLE_SLOTS_QUERY = "SELECT pa FROM ProviderAvailability pa WHERE " +
+           "pa.date BETWEEN :startDate AND :endDate " +
+           "AND pa.status = 'AVAILABLE' " +
+           "AND (:specialization IS NULL OR LOWER(pa.provider.specialization) LIKE LOWER(CONCAT('%', :specialization, '%'))) " +
+           "AND (:location IS NULL OR LOWER(pa.location.address) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "AND (:appointmentType IS NULL OR pa.appointmentType = :appointmentType) " +
+           "AND (:insuranceAccepted IS NULL OR pa.pricing.insuranceAccepted = :insuranceAccepted) " +
+           "AND (:maxPrice IS NULL OR pa.pricing.baseFee <= :maxPrice)";
+
     Optional<ProviderAvailability> findByUuid(UUID uuid);
 
     @Query("SELECT pa FROM ProviderAvailability pa WHERE pa.provider.uuid = :providerId")
     List<ProviderAvailability> findByProviderUuid(@Param("providerId") UUID providerId);
 
-    @Query("SELECT pa FROM ProviderAvailability pa WHERE pa.provider.uuid = :providerId " +
-           "AND pa.date BETWEEN :startDate AND :endDate " +
-           "AND (:status IS NULL OR pa.status = :status) " +
-           "AND (:appointmentType IS NULL OR pa.appointmentType = :appointmentType)")
+    @Query(PROVIDER_DATE_RANGE_QUERY)
     Page<ProviderAvailability> findByProviderAndDateRange(
-            @Param("providerId") UUID providerId,
+            @Param("providerId") Long providerId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             @Param("status") ProviderAvailability.AvailabilityStatus status,
@@ -34,14 +51,17 @@ public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAv
             Pageable pageable
     );
 
-    @Query("SELECT pa FROM ProviderAvailability pa WHERE " +
-           "pa.date BETWEEN :startDate AND :endDate " +
-           "AND pa.status = 'AVAILABLE' " +
-           "AND (:specialization IS NULL OR LOWER(pa.provider.specialization) LIKE LOWER(CONCAT('%', :specialization, '%'))) " +
-           "AND (:location IS NULL OR LOWER(pa.location.address) LIKE LOWER(CONCAT('%', :location, '%'))) " +
-           "AND (:appointmentType IS NULL OR pa.appointmentType = :appointmentType) " +
-           "AND (:insuranceAccepted IS NULL OR pa.pricing.insuranceAccepted = :insuranceAccepted) " +
-           "AND (:maxPrice IS NULL OR pa.pricing.baseFee <= :maxPrice)")
+    @Query(PROVIDER_DATE_RANGE_QUERY)
+    Slice<ProviderAvailability> sliceByProviderAndDateRange(
+            @Param("providerId") Long providerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") ProviderAvailability.AvailabilityStatus status,
+            @Param("appointmentType") ProviderAvailability.AppointmentType appointmentType,
+            Pageable pageable
+    );
+
+    @Query(AVAILABLE_SLOTS_QUERY)
     Page<ProviderAvailability> searchAvailableSlots(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
@@ -53,24 +73,48 @@ public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAv
             Pageable pageable
     );
 
+    @Query(AVAILABLE_SLOTS_QUERY)
+    Slice<ProviderAvailability> sliceAvailableSlots(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("specialization") String specialization,
+            @Param("location") String location,
+            @Param("appointmentType") ProviderAvailability.AppointmentType appointmentType,
+            @Param("insuranceAccepted") Boolean insuranceAccepted,
+            @Param("maxPrice") java.math.BigDecimal maxPrice,
+            Pageable pageable
+    );
+
+    // One aggregate over the (provider_id, date) index instead of loading the rows; empty when the
+    // provider does not exist
+    @Query("SELECT new com.healthfirst.server.dto.AvailabilityVersion(p.updatedAt, MAX(pa.updatedAt), COUNT(pa)) " +
+           "FROM Provider p LEFT JOIN ProviderAvailability pa " +
+           "ON pa.provider.id = p.id AND pa.date BETWEEN :startDate AND :endDate " +
+           "WHERE p.id = :providerId GROUP BY p.id, p.updatedAt")
+    Optional<AvailabilityVersion> findAvailabilityVersion(
+            @Param("providerId") Long providerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
     @Query("SELECT pa FROM ProviderAvailability pa WHERE " +
-           "pa.provider.uuid = :providerId " +
+           "pa.provider.id = :providerId " +
            "AND pa.date = :date " +
            "AND pa.startTime < :endTime " +
            "AND pa.endTime > :startTime")
     List<ProviderAvailability> findOverlappingSlots(
-            @Param("providerId") UUID providerId,
+            @Param("providerId") Long providerId,
             @Param("date") LocalDate date,
             @Param("startTime") java.time.LocalTime startTime,
             @Param("endTime") java.time.LocalTime endTime
     );
 
     @Query("SELECT COUNT(pa) FROM ProviderAvailability pa WHERE " +
-           "pa.provider.uuid = :providerId " +
+           "pa.provider.id = :providerId " +
            "AND pa.date BETWEEN :startDate AND :endDate " +
            "AND pa.status = 'AVAILABLE'")
     long countAvailableSlotsByProviderAndDateRange(
-            @Param("providerId") UUID providerId,
+            @Param("providerId") Long providerId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
@@ -78,9 +122,9 @@ public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAv
     @Query("SELECT pa FROM ProviderAvailability pa WHERE " +
            "pa.isRecurring = true " +
            "AND pa.recurrenceEndDate >= :currentDate " +
-           "AND pa.provider.uuid = :providerId")
+           "AND pa.provider.id = :providerId")
     List<ProviderAvailability> findActiveRecurringSlots(
-            @Param("providerId") UUID providerId,
+            @Param("providerId") Long providerId,
             @Param("currentDate") LocalDate currentDate
     );
 
@@ -89,11 +133,11 @@ public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAv
     List<String> findAvailableSpecializations(@Param("currentDate") LocalDate currentDate);
 
     @Query("SELECT pa FROM ProviderAvailability pa WHERE " +
-           "pa.provider.uuid = :providerId " +
+           "pa.provider.id = :providerId " +
            "AND pa.date >= :currentDate " +
            "ORDER BY pa.date ASC, pa.startTime ASC")
     List<ProviderAvailability> findUpcomingSlots(
-            @Param("providerId") UUID providerId,
+            @Param("providerId") Long providerId,
             @Param("currentDate") LocalDate currentDate
     );
 } 
\ No newline at end of file
@@ -1,32 +1,68 @@
 package com.healthfirst.server.repository;
 
 import com.healthfirst.server.entity.Provider;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProviderRepository extends JpaRepository<Provider, Long> {
+public interface ProviderRepository extends JpaRepository<Provider, Long>, ProviderRepositoryCustom {
 
-    Optional<Provider> findByUuid(UUID uuid);
+    // findByUuid comes from ProviderRepositoryCustom (natural-id cache)
 
+    // Cached query: Hibernate drops cached results whenever it writes to providers
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Provider> findByEmail(String email);
 
+    // Existence and id lookups that read only the uuid index, never the row
+    boolean existsByUuid(UUID uuid);
+
+    @Query("SELECT p.id FROM Provider p WHERE p.uuid = :uuid")
+    Optional<Long> findIdByUuid(@Param("uuid") UUID uuid);
+
     boolean existsByEmail(String email);
 
+    // Projection only, for warming the login Bloom filter; must be consumed inside a transaction
+    @Query("SELECT p.email FROM Provider p")
+    Stream<String> streamAllEmails();
+
     boolean existsByPhoneNumber(String phoneNumber);
 
     boolean existsByLicenseNumber(String licenseNumber);
 
+    // Slice variants share the Page queries but fetch one extra row instead of running the COUNT
+    String SEARCH_PROVIDERS_QUERY = "SELECT p.* FROM providers p WHERE " +
+           "(:search IS NULL OR " +
+           "LOWER(p.first_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.last_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.specialization) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.license_number) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:verificationStatus IS NULL OR p.verification_status = :verificationStatus) AND " +
+           "(:isActive IS NULL OR p.is_active = :isActive)";
+
+    Slice<Provider> findAllBy(Pageable pageable);
+
     @Query("SELECT p FROM Provider p WHERE p.isActive = true")
     Page<Provider> findAllActive(Pageable pageable);
 
+    @Query("SELECT p FROM Provider p WHERE p.isActive = true")
+    Slice<Provider> sliceAllActive(Pageable pageable);
+
     @Query("SELECT p FROM Provider p WHERE " +
            "(:firstName IS NULL OR LOWER(p.firstName) LIKE LOWER(CONCAT('%', :firstName, '%'))) AND " +
            "(:lastName IS NULL OR LOWER(p.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
@@ -44,15 +80,7 @@ public interface ProviderRepository extends JpaRepository<Provider, Long> {
             Pageable pageable
     );
 
-    @Query(value = "SELECT p.* FROM providers p WHERE " +
-           "(:search IS NULL OR " +
-           "LOWER(p.first_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.last_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.specialization) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.license_number) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
-           "(:verificationStatus IS NULL OR p.verification_status = :verificationStatus) AND " +
-           "(:isActive IS NULL OR p.is_active = :isActive)",
+    @Query(value = SEARCH_PROVIDERS_QUERY,
            countQuery = "SELECT COUNT(*) FROM providers p WHERE " +
            "(:search IS NULL OR " +
            "LOWER(p.first_name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -70,9 +98,26 @@ public interface ProviderRepository extends JpaRepository<Provider, Long> {
             Pageable pageable
     );
 
+    @Query(value = SEARCH_PROVIDERS_QUERY, nativeQuery = true)
+    Slice<Provider> sliceProviders(
+            @Param("search") String search,
+            @Param("verificationStatus") String verificationStatus,
+            @Param("isActive") Boolean isActive,
+            Pageable pageable
+    );
+
     @Query("SELECT COUNT(p) FROM Provider p WHERE p.verificationStatus = :status")
     long countByVerificationStatus(@Param("status") Provider.VerificationStatus status);
 
     @Query("SELECT COUNT(p) FROM Provider p WHERE p.isActive = :isActive")
     long countByIsActive(@Param("isActive") boolean isActive);
-} 
\ No newline at end of file
+
+    // Soft delete / reactivate as one targeted UPDATE; bulk statements skip @UpdateTimestamp, so callers pass it
+    @Modifying
+    @Query("UPDATE Provider p SET p.isActive = :active, p.updatedAt = :now WHERE p.uuid IN :uuids")
+    int updateActiveByUuidIn(
+            @Param("uuids") Collection<UUID> uuids,
+            @Param("active") boolean active,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,12 @@
+package com.healthfirst.server.repository;
+
+import com.healthfirst.server.entity.Provider;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProviderRepositoryCustom {
+
+    // Resolved through the natural-id cache, so repeated lookups of the same provider skip the database
+    Optional<Provider> findByUuid(UUID uuid);
+}
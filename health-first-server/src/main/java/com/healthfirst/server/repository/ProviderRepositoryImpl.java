@@ -0,0 +1,27 @@
+package com.healthfirst.server.repository;
+
+import com.healthfirst.server.entity.Provider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Transactional(readOnly = true)
+public class ProviderRepositoryImpl implements ProviderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Provider> findByUuid(UUID uuid) {
+        if (uuid == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Provider.class)
+                .loadOptional(uuid);
+    }
+}
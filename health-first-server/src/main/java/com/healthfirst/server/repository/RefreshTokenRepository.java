@@ -0,0 +1,33 @@
+package com.healthfirst.server.repository;
+
+import com.healthfirst.server.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Conditional update so two concurrent refreshes of the same token cannot both succeed
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :revokedAt, rt.replacedByHash = :replacedByHash " +
+           "WHERE rt.id = :id AND rt.revokedAt IS NULL")
+    int markRotated(
+            @Param("id") Long id,
+            @Param("revokedAt") Instant revokedAt,
+            @Param("replacedByHash") String replacedByHash
+    );
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :revokedAt " +
+           "WHERE rt.familyId = :familyId AND rt.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("revokedAt") Instant revokedAt);
+}
@@ -0,0 +1,32 @@
+package com.healthfirst.server.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+// Picks the highest BCrypt cost whose single hash stays within a latency budget on this machine
+public final class BCryptCostBenchmark {
+
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 3;
+    private static final String PROBE_PASSWORD = "benchmark-Password-123!";
+
+    private BCryptCostBenchmark() {}
+
+    public static int pickCost(long targetMillis, int minCost, int maxCost) {
+        // Warm up the JIT so the first probe is not dominated by interpretation
+        BCrypt.hashpw(PROBE_PASSWORD, BCrypt.gensalt(PROBE_COST));
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(PROBE_PASSWORD, BCrypt.gensalt(PROBE_COST));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        // Each extra cost step doubles the work, so extrapolate from the probe instead of
+        // hashing at every candidate cost
+        double probeMillis = Math.max(best / 1_000_000.0, 0.01);
+        int cost = PROBE_COST + (int) Math.floor(Math.log(targetMillis / probeMillis) / Math.log(2));
+
+        return Math.max(minCost, Math.min(maxCost, cost));
+    }
+}
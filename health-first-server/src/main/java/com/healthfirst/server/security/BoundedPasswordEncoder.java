@@ -0,0 +1,143 @@
+package com.healthfirst.server.security;
+
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs the expensive hash work of the delegate on a fixed, size-limited pool. At most
+// poolSize + queueCapacity request threads can be parked on hashing at once; anything
+// beyond that is rejected immediately instead of starving the rest of the web pool.
+// As a MeterBinder bean its counters are also published as password.hashing.* meters.
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolExecutor executor, long timeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, cheap enough to stay on the caller thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // For callers that schedule hashing on their own pool, e.g. bulk imports
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    public Map<String, Object> getStats() {
+        long done = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pool_size", executor.getMaximumPoolSize());
+        stats.put("active_threads", executor.getActiveCount());
+        stats.put("queue_depth", executor.getQueue().size());
+        stats.put("queue_remaining_capacity", executor.getQueue().remainingCapacity());
+        stats.put("submitted", submitted.sum());
+        stats.put("completed", done);
+        stats.put("rejected", rejected.sum());
+        stats.put("timed_out", timedOut.sum());
+        stats.put("avg_queue_wait_ms", done == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / done);
+        stats.put("avg_hash_ms", done == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / done);
+        return stats;
+    }
+
+    // Reads the same adders as getStats, so hashing itself records nothing extra
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("password.hashing", this, encoder -> encoder.completed.sum(),
+                        encoder -> encoder.hashNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent hashing or verifying passwords on the hashing pool")
+                .register(registry);
+        FunctionTimer.builder("password.hashing.queue.wait", this, encoder -> encoder.completed.sum(),
+                        encoder -> encoder.queueWaitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time requests waited for a hashing thread")
+                .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", this, encoder -> encoder.rejected.sum())
+                .tag("reason", "capacity")
+                .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", this, encoder -> encoder.timedOut.sum())
+                .tag("reason", "timeout")
+                .register(registry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(registry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    private <T> T run(Callable<T> work) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - enqueuedAt);
+                try {
+                    return work.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingCapacityException("Password hashing capacity exceeded, please retry shortly", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new PasswordHashingCapacityException("Password hashing timed out, please retry shortly", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingCapacityException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
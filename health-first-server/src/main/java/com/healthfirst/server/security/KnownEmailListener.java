@@ -0,0 +1,31 @@
+package com.healthfirst.server.security;
+
+import com.healthfirst.server.entity.Patient;
+import com.healthfirst.server.entity.Provider;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Feeds every persisted or updated email into the login Bloom filter, whichever code path wrote it.
+// Resolved lazily because Hibernate instantiates listeners while the repositories are still being built.
+public class KnownEmailListener {
+
+    @Autowired
+    private ObjectProvider<LoginTimingGuard> loginTimingGuard;
+
+    @PostPersist
+    @PostUpdate
+    public void recordEmail(Object entity) {
+        LoginTimingGuard guard = loginTimingGuard != null ? loginTimingGuard.getIfAvailable() : null;
+        if (guard == null) {
+            return;
+        }
+
+        if (entity instanceof Provider provider) {
+            guard.recordEmail(LoginRateLimiter.PROVIDER_REALM, provider.getEmail());
+        } else if (entity instanceof Patient patient) {
+            guard.recordEmail(LoginRateLimiter.PATIENT_REALM, patient.getEmail());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.healthfirst.server.security;
+
+import com.healthfirst.server.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+// Throttles login attempts before any password hashing happens. Buckets and lockout state
+// are updated with CAS loops only, and each map is capped. A full bucket or an expired lockout
+// carries no information, so only those entries are ever evicted: when a map is full of live
+// state, attempts that would add a key are rejected instead, so spraying new emails or addresses
+// cannot push out the lockout of the account under attack.
+@Component
+public class LoginRateLimiter {
+
+    public static final String PROVIDER_REALM = "provider";
+    public static final String PATIENT_REALM = "patient";
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<Lockout>> lockouts = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+
+    // A sweep that cannot get the maps below 90% of the cap is not retried for a second, so a flood
+    // of new keys costs one scan per second rather than one per attempt
+    private static final long SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int ipCapacity;
+    private final double ipRefillPerNano;
+    private final int accountCapacity;
+    private final double accountRefillPerNano;
+    private final int lockoutThreshold;
+    private final long lockoutBaseMillis;
+    private final long lockoutMaxMillis;
+    private final long failureResetMillis;
+    private final int maxEntries;
+    private final int lowWaterEntries;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByAccount = new LongAdder();
+    private final LongAdder rejectedByLockout = new LongAdder();
+    private final LongAdder lockoutsStarted = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejectedAtCapacity = new LongAdder();
+
+    public LoginRateLimiter(
+            @Value("${login-throttling.ip.capacity:20}") int ipCapacity,
+            @Value("${login-throttling.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${login-throttling.account.capacity:5}") int accountCapacity,
+            @Value("${login-throttling.account.refill-per-minute:5}") int accountRefillPerMinute,
+            @Value("${login-throttling.lockout.threshold:5}") int lockoutThreshold,
+            @Value("${login-throttling.lockout.base-seconds:30}") long lockoutBaseSeconds,
+            @Value("${login-throttling.lockout.max-seconds:900}") long lockoutMaxSeconds,
+            @Value("${login-throttling.lockout.reset-after-seconds:900}") long failureResetSeconds,
+            @Value("${login-throttling.max-entries:100000}") int maxEntries) {
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerNano = ipRefillPerMinute / 60_000_000_000.0;
+        this.accountCapacity = accountCapacity;
+        this.accountRefillPerNano = accountRefillPerMinute / 60_000_000_000.0;
+        this.lockoutThreshold = lockoutThreshold;
+        this.lockoutBaseMillis = lockoutBaseSeconds * 1000;
+        this.lockoutMaxMillis = lockoutMaxSeconds * 1000;
+        this.failureResetMillis = failureResetSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.lowWaterEntries = maxEntries / 10 * 9;
+    }
+
+    // Call before verifying the password; throws LoginThrottledException when the attempt must be rejected
+    public void acquire(String realm, String email, String clientIp) {
+        String account = accountKey(realm, email);
+        long nowMillis = System.currentTimeMillis();
+
+        // An active lockout costs nothing to check and does not consume tokens
+        AtomicReference<Lockout> lockoutRef = lockouts.get(account);
+        if (lockoutRef != null) {
+            long lockedFor = lockoutRef.get().lockedUntilMillis() - nowMillis;
+            if (lockedFor > 0) {
+                rejectedByLockout.increment();
+                throw new LoginThrottledException("Too many failed login attempts. Try again later.", toSeconds(lockedFor));
+            }
+        }
+
+        long nowNanos = System.nanoTime();
+
+        // A failed attempt adds a lockout entry, so there must be room for one
+        if (lockoutRef == null) {
+            ensureRoom(lockouts, nowNanos, nowMillis);
+        }
+
+        if (clientIp != null) {
+            TokenBucket ipBucket = bucket(ipBuckets, clientIp, ipCapacity, ipRefillPerNano, nowNanos);
+            long wait = ipBucket.tryConsume(nowNanos);
+            if (wait > 0) {
+                rejectedByIp.increment();
+                throw new LoginThrottledException("Too many login attempts from this address. Try again later.", toSeconds(wait / 1_000_000));
+            }
+        }
+
+        TokenBucket accountBucket = bucket(accountBuckets, account, accountCapacity, accountRefillPerNano, nowNanos);
+        long wait = accountBucket.tryConsume(nowNanos);
+        if (wait > 0) {
+            rejectedByAccount.increment();
+            throw new LoginThrottledException("Too many login attempts for this account. Try again later.", toSeconds(wait / 1_000_000));
+        }
+
+        allowed.increment();
+    }
+
+    public void recordFailure(String realm, String email) {
+        String account = accountKey(realm, email);
+        long now = System.currentTimeMillis();
+
+        // acquire() made room for the entry before the password was checked
+        AtomicReference<Lockout> ref = lockouts.computeIfAbsent(account, key -> new AtomicReference<>(Lockout.NONE));
+        while (true) {
+            Lockout current = ref.get();
+            int failures = now - current.lastFailureMillis() > failureResetMillis ? 1 : current.failures() + 1;
+
+            long lockedUntil = current.lockedUntilMillis();
+            if (failures >= lockoutThreshold) {
+                // Double the lockout for every failure past the threshold, up to the cap
+                int doublings = Math.min(failures - lockoutThreshold, 30);
+                lockedUntil = now + Math.min(lockoutMaxMillis, lockoutBaseMillis << doublings);
+            }
+
+            if (ref.compareAndSet(current, new Lockout(failures, lockedUntil, now))) {
+                if (failures >= lockoutThreshold) {
+                    lockoutsStarted.increment();
+                }
+                break;
+            }
+        }
+    }
+
+    public void recordSuccess(String realm, String email) {
+        lockouts.remove(accountKey(realm, email));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("allowed", allowed.sum());
+        stats.put("rejected_by_ip", rejectedByIp.sum());
+        stats.put("rejected_by_account", rejectedByAccount.sum());
+        stats.put("rejected_by_lockout", rejectedByLockout.sum());
+        stats.put("lockouts_started", lockoutsStarted.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("rejected_at_capacity", rejectedAtCapacity.sum());
+        stats.put("tracked_ips", ipBuckets.size());
+        stats.put("tracked_accounts", accountBuckets.size());
+        stats.put("tracked_lockouts", lockouts.size());
+        return stats;
+    }
+
+    private TokenBucket bucket(Map<String, TokenBucket> buckets, String key, int capacity, double refillPerNano, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            ensureRoom(buckets, nowNanos, System.currentTimeMillis());
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerNano, nowNanos));
+        }
+        return bucket;
+    }
+
+    // Throws when the map is at its cap and a sweep of idle entries cannot make room for a new key.
+    // Concurrent callers may overshoot the cap by a few entries; it bounds memory, not exact counts
+    private void ensureRoom(Map<String, ?> map, long nowNanos, long nowMillis) {
+        if (map.size() < maxEntries) {
+            return;
+        }
+        sweepIfDue(nowNanos, nowMillis);
+        if (map.size() >= maxEntries) {
+            rejectedAtCapacity.increment();
+            throw new LoginThrottledException("Too many login attempts in progress. Try again later.",
+                    toSeconds(TimeUnit.NANOSECONDS.toMillis(SWEEP_BACKOFF_NANOS)));
+        }
+    }
+
+    private void sweepIfDue(long nowNanos, long nowMillis) {
+        // Only one thread sweeps; everyone else carries on without waiting
+        if (nowNanos - nextSweepNanos.get() < 0 || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            sweep(ipBuckets, bucket -> bucket.isFull(nowNanos));
+            sweep(accountBuckets, bucket -> bucket.isFull(nowNanos));
+            sweep(lockouts, ref -> ref.get().isExpired(nowMillis, failureResetMillis));
+
+            // Below the low-water mark the next sweep is ~10% of the cap in new keys away; above it
+            // the maps hold live state, which only time frees
+            boolean freed = ipBuckets.size() <= lowWaterEntries && accountBuckets.size() <= lowWaterEntries
+                    && lockouts.size() <= lowWaterEntries;
+            nextSweepNanos.set(freed ? nowNanos : nowNanos + SWEEP_BACKOFF_NANOS);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private <V> void sweep(Map<String, V> map, Predicate<V> idle) {
+        if (map.size() <= lowWaterEntries) {
+            return;
+        }
+
+        map.entrySet().removeIf(entry -> {
+            boolean remove = idle.test(entry.getValue());
+            if (remove) {
+                evictions.increment();
+            }
+            return remove;
+        });
+    }
+
+    private static String accountKey(String realm, String email) {
+        return realm + ":" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private record Lockout(int failures, long lockedUntilMillis, long lastFailureMillis) {
+        static final Lockout NONE = new Lockout(0, 0, 0);
+
+        boolean isExpired(long nowMillis, long failureResetMillis) {
+            return lockedUntilMillis <= nowMillis && nowMillis - lastFailureMillis > failureResetMillis;
+        }
+    }
+
+    static final class TokenBucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private final AtomicReference<State> state;
+
+        TokenBucket(int capacity, double refillPerNano, long nowNanos) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        }
+
+        // Returns 0 when a token was taken, otherwise the nanoseconds until one is available
+        long tryConsume(long nowNanos) {
+            while (true) {
+                State current = state.get();
+                double tokens = available(current, nowNanos);
+                if (tokens < 1) {
+                    return refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : Long.MAX_VALUE / 2;
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long nowNanos) {
+            return available(state.get(), nowNanos) >= capacity;
+        }
+
+        private double available(State current, long nowNanos) {
+            return Math.min(capacity, current.tokens() + (nowNanos - current.refilledAtNanos()) * refillPerNano);
+        }
+
+        private record State(double tokens, long refilledAtNanos) {}
+    }
+}
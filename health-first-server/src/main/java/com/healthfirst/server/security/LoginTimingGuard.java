@@ -0,0 +1,149 @@
+package com.healthfirst.server.security;
+
+import com.healthfirst.server.repository.PatientRepository;
+import com.healthfirst.server.repository.ProviderRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Keeps login latency independent of whether the account exists. Unknown emails still pay one
+// password verification (against a precomputed dummy hash, on the bounded hashing pool), and a
+// Bloom filter of registered emails lets those requests skip the database lookup entirely.
+// The per-attempt counters are published only as login.guard.* meters on the management port:
+// each one moves by one per login on an unknown email, so serving them publicly would tell an
+// attacker whether the email they just tried exists.
+@Component
+public class LoginTimingGuard implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginTimingGuard.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private final EmailBloomFilter providerEmails;
+    private final EmailBloomFilter patientEmails;
+    private final long expectedEmails;
+
+    // Off by default: emails registered on another instance are unknown here until restart, and
+    // would be refused as invalid credentials. Only single-instance deployments should turn it on
+    private final boolean filterEnabled;
+
+    // Until the filters are loaded every email is treated as possibly known
+    private volatile boolean loaded;
+    private volatile String dummyHash;
+
+    private final AtomicLong loadedEmails = new AtomicLong();
+    private final LongAdder filterMisses = new LongAdder();
+    private final LongAdder dummyVerifications = new LongAdder();
+
+    public LoginTimingGuard(
+            @Value("${login-guard.bloom.enabled:false}") boolean filterEnabled,
+            @Value("${login-guard.bloom.expected-emails:100000}") long expectedEmails,
+            @Value("${login-guard.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.filterEnabled = filterEnabled;
+        this.expectedEmails = expectedEmails;
+        this.providerEmails = new EmailBloomFilter(expectedEmails, falsePositiveRate);
+        this.patientEmails = new EmailBloomFilter(expectedEmails, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        // Precompute the dummy hash with the live encoder so it carries the same algorithm and cost
+        dummyHash();
+
+        if (!filterEnabled) {
+            return;
+        }
+
+        long count = 0;
+        try (Stream<String> emails = providerRepository.streamAllEmails()) {
+            count += emails.peek(providerEmails::put).count();
+        }
+        try (Stream<String> emails = patientRepository.streamAllEmails()) {
+            count += emails.peek(patientEmails::put).count();
+        }
+        loadedEmails.set(count);
+        loaded = true;
+
+        if (count > expectedEmails) {
+            log.warn("Loaded {} emails into login Bloom filters sized for {}; raise login-guard.bloom.expected-emails",
+                    count, expectedEmails);
+        }
+    }
+
+    public boolean mightExist(String realm, String email) {
+        if (!filterEnabled || !loaded || filter(realm).mightContain(email)) {
+            return true;
+        }
+        filterMisses.increment();
+        return false;
+    }
+
+    // Call whenever an email is created or changed; Bloom filters cannot forget, so removals are not tracked
+    public void recordEmail(String realm, String email) {
+        filter(realm).put(email);
+    }
+
+    // Spends the same hashing work as a real password check, then always fails
+    public void verifyAgainstDummy(String rawPassword) {
+        dummyVerifications.increment();
+        passwordEncoder.matches(rawPassword != null ? rawPassword : "", dummyHash());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("filter_enabled", filterEnabled);
+        stats.put("loaded", loaded);
+        stats.put("loaded_emails", loadedEmails.get());
+        stats.put("filter_bits", providerEmails.getBitCount() + patientEmails.getBitCount());
+        stats.put("filter_hashes", providerEmails.getHashCount());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("login.guard.filter.misses", this, guard -> guard.filterMisses.sum())
+                .description("Logins refused by the Bloom filter without a database lookup")
+                .register(registry);
+        FunctionCounter.builder("login.guard.dummy.verifications", this, guard -> guard.dummyVerifications.sum())
+                .description("Password checks run against the dummy hash for unknown accounts")
+                .register(registry);
+    }
+
+    private EmailBloomFilter filter(String realm) {
+        return LoginRateLimiter.PATIENT_REALM.equals(realm) ? patientEmails : providerEmails;
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            // Benign race: concurrent first callers may each compute one, any of them will do
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
@@ -3,14 +3,20 @@ package com.healthfirst.server.service;
 import com.healthfirst.server.dto.LoginRequest;
 import com.healthfirst.server.dto.LoginResponse;
 import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.entity.RefreshToken;
+import com.healthfirst.server.exception.InvalidCredentialsException;
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
 import com.healthfirst.server.repository.ProviderRepository;
+import com.healthfirst.server.security.LoginRateLimiter;
+import com.healthfirst.server.security.LoginTimingGuard;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class AuthService {
@@ -24,17 +30,32 @@ public class AuthService {
     @Autowired
     private JwtService jwtService;
 
-    // In-memory token blacklist for logout (in production, use Redis)
-    private final Set<String> blacklistedTokens = new HashSet<>();
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginTimingGuard loginTimingGuard;
+
+    // In-memory token blacklist for logout (in production, use Redis), checked by
+    // JwtAuthenticationFilter on every request. Token -> expiry in epoch millis: entries are dropped
+    // once the token would be rejected as expired anyway
+    private final Map<String, Long> blacklistedTokens = new ConcurrentHashMap<>();
 
     public LoginResponse login(LoginRequest loginRequest) {
-        // Find provider by email
-        Provider provider = providerRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
+        // Find provider by email, skipping the query for emails the Bloom filter has never seen
+        Provider provider = loginTimingGuard.mightExist(LoginRateLimiter.PROVIDER_REALM, loginRequest.getEmail())
+                ? providerRepository.findByEmail(loginRequest.getEmail()).orElse(null)
+                : null;
+
+        // Unknown accounts still pay for one hash so the response time does not reveal them
+        if (provider == null) {
+            loginTimingGuard.verifyAgainstDummy(loginRequest.getPassword());
+            throw new InvalidCredentialsException("Invalid credentials");
+        }
 
         // Verify password
         if (!passwordEncoder.matches(loginRequest.getPassword(), provider.getPasswordHash())) {
-            throw new IllegalArgumentException("Invalid credentials");
+            throw new InvalidCredentialsException("Invalid credentials");
         }
 
         // Check if account is active
@@ -42,6 +63,16 @@ public class AuthService {
             throw new IllegalArgumentException("Account is deactivated");
         }
 
+        // Migrate the stored hash to the current algorithm and cost while we have the raw password
+        if (passwordEncoder.upgradeEncoding(provider.getPasswordHash())) {
+            try {
+                provider.setPasswordHash(passwordEncoder.encode(loginRequest.getPassword()));
+                providerRepository.save(provider);
+            } catch (PasswordHashingCapacityException e) {
+                // Not worth failing a valid login over; the upgrade is retried on the next one
+            }
+        }
+
         // Check if account is verified (optional - you can remove this check if not required)
         if (provider.getVerificationStatus() != Provider.VerificationStatus.VERIFIED) {
             throw new IllegalArgumentException("Account is not verified. Please wait for verification.");
@@ -50,8 +81,31 @@ public class AuthService {
         // Generate JWT token
         String token = jwtService.generateToken(provider);
 
+        // Start a new refresh token family for this login
+        String refreshToken = refreshTokenService.issue(RefreshToken.SubjectType.PROVIDER, provider.getUuid());
+
         // Return login response
-        return new LoginResponse(token, jwtService.getExpirationTime(), provider);
+        return new LoginResponse(token, jwtService.getExpirationTime(),
+                refreshToken, refreshTokenService.getRefreshExpirationTime(), provider);
+    }
+
+    public LoginResponse refreshToken(String refreshToken) {
+        // Rotate first so a replayed token is detected even if the account has since changed
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(
+                refreshToken, RefreshToken.SubjectType.PROVIDER);
+
+        // Account state is only re-checked here, keeping per-request JWT verification local
+        Provider provider = providerRepository.findByUuid(rotation.subjectUuid()).orElse(null);
+        if (provider == null || !provider.getIsActive()
+                || provider.getVerificationStatus() != Provider.VerificationStatus.VERIFIED) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            throw new IllegalArgumentException("Account is no longer active");
+        }
+
+        String token = jwtService.generateToken(provider);
+
+        return new LoginResponse(token, jwtService.getExpirationTime(),
+                rotation.refreshToken(), refreshTokenService.getRefreshExpirationTime(), provider);
     }
 
     public void logout(String token) {
@@ -62,12 +116,33 @@ public class AuthService {
 
         // Add token to blacklist
         if (token != null && !token.isEmpty()) {
-            blacklistedTokens.add(token);
+            long now = System.currentTimeMillis();
+            blacklistedTokens.values().removeIf(expiresAt -> expiresAt < now);
+            blacklistedTokens.put(token, expiresAt(token, now));
         }
     }
 
+    private long expiresAt(String token, long now) {
+        try {
+            Date expiration = jwtService.extractExpiration(token);
+            if (expiration != null) {
+                return expiration.getTime();
+            }
+        } catch (Exception e) {
+            // Not a token we issued; keep it for a full access token lifetime
+        }
+        return now + jwtService.getExpirationTime() * 1000;
+    }
+
+    public void logout(String token, String refreshToken) {
+        logout(token);
+
+        // Revoke the whole refresh token family so the session cannot be resumed
+        refreshTokenService.revoke(refreshToken);
+    }
+
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        return blacklistedTokens.containsKey(token);
     }
 
     public Provider getProviderFromToken(String token) {
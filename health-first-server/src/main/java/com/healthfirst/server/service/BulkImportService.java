@@ -0,0 +1,513 @@
+package com.healthfirst.server.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthfirst.server.dto.BulkImportReport;
+import com.healthfirst.server.dto.PatientRegistrationRequest;
+import com.healthfirst.server.dto.ProviderRegistrationRequest;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.entity.UuidV7;
+import com.healthfirst.server.exception.UniqueConstraintTranslator;
+import com.healthfirst.server.security.BoundedPasswordEncoder;
+import com.healthfirst.server.security.LoginRateLimiter;
+import com.healthfirst.server.security.LoginTimingGuard;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+// Onboards providers or patients from a CSV/NDJSON stream. Rows are validated with the same Bean
+// Validation rules as the registration endpoints, checked for duplicates against keys preloaded
+// once per import, hashed in parallel on the import pool and inserted with JDBC batches. Each
+// batch commits on its own; a failed batch is retried row by row so every error names its row.
+@Service
+public class BulkImportService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("importHashingExecutor")
+    private ThreadPoolExecutor importHashingExecutor;
+
+    @Autowired
+    private LoginTimingGuard loginTimingGuard;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${bulk-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bulk-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public BulkImportReport importProviders(InputStream input, ImportRecordReader.Format format) {
+        return run(input, format, new ProviderTarget());
+    }
+
+    public BulkImportReport importPatients(InputStream input, ImportRecordReader.Format format) {
+        return run(input, format, new PatientTarget());
+    }
+
+    private <T> BulkImportReport run(InputStream input, ImportRecordReader.Format format, ImportTarget<T> target) {
+        BulkImportReport report = new BulkImportReport();
+        Map<String, Set<String>> taken = preloadUniqueKeys(target);
+
+        List<PendingRow<T>> batch = new ArrayList<>(batchSize);
+        try (ImportRecordReader reader = new ImportRecordReader(input, format, objectMapper, target.listColumns())) {
+            while (reader.hasNext()) {
+                ImportRecordReader.Record record = reader.next();
+                report.setTotalRows(record.row());
+
+                PendingRow<T> pending = prepare(record, target, taken, report);
+                if (pending == null) {
+                    continue;
+                }
+                batch.add(pending);
+                if (batch.size() >= batchSize) {
+                    flush(batch, target, taken, report);
+                    batch.clear();
+                }
+            }
+            flush(batch, target, taken, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return report;
+    }
+
+    // One pass over the existing rows instead of an exists query per unique column per row
+    private Map<String, Set<String>> preloadUniqueKeys(ImportTarget<?> target) {
+        List<String> columns = new ArrayList<>(target.uniqueMessages().keySet());
+        Map<String, Set<String>> taken = new HashMap<>();
+        columns.forEach(column -> taken.put(column, new HashSet<>()));
+
+        // PostgreSQL only streams with a fetch size inside a transaction
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(10_000);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> streaming.query(
+                "SELECT " + String.join(", ", columns) + " FROM " + target.table(),
+                rs -> {
+                    for (int i = 0; i < columns.size(); i++) {
+                        taken.get(columns.get(i)).add(rs.getString(i + 1));
+                    }
+                }));
+        return taken;
+    }
+
+    private <T> PendingRow<T> prepare(ImportRecordReader.Record record, ImportTarget<T> target,
+                                      Map<String, Set<String>> taken, BulkImportReport report) {
+        if (record.error() != null) {
+            report.addError(record.row(), record.error(), maxReportedErrors);
+            return null;
+        }
+
+        T request;
+        try {
+            request = objectMapper.convertValue(record.fields(), target.requestType());
+        } catch (IllegalArgumentException e) {
+            report.addError(record.row(), describeMappingError(e), maxReportedErrors);
+            return null;
+        }
+        target.defaultConfirmation(request);
+
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            report.addError(record.row(), "Validation failed: " + message, maxReportedErrors);
+            return null;
+        }
+
+        String problem = target.check(request);
+        if (problem != null) {
+            report.addError(record.row(), problem, maxReportedErrors);
+            return null;
+        }
+
+        // Duplicates against the database and against earlier rows of the same file
+        Map<String, String> keys = target.uniqueKeys(request);
+        for (Map.Entry<String, String> key : keys.entrySet()) {
+            if (taken.get(key.getKey()).contains(key.getValue())) {
+                report.addError(record.row(), target.uniqueMessages().get(key.getKey()), maxReportedErrors);
+                return null;
+            }
+        }
+        keys.forEach((column, value) -> taken.get(column).add(value));
+
+        return new PendingRow<>(record.row(), request, keys);
+    }
+
+    private <T> void flush(List<PendingRow<T>> batch, ImportTarget<T> target,
+                           Map<String, Set<String>> taken, BulkImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Hash the whole batch in parallel with the raw encoder; the login pool stays untouched
+        List<Callable<String>> hashing = new ArrayList<>(batch.size());
+        for (PendingRow<T> pending : batch) {
+            String password = target.password(pending.request);
+            hashing.add(() -> passwordEncoder.getDelegate().encode(password));
+        }
+
+        List<PendingRow<T>> hashed = new ArrayList<>(batch.size());
+        try {
+            List<Future<String>> hashes = importHashingExecutor.invokeAll(hashing);
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRow<T> pending = batch.get(i);
+                try {
+                    pending.passwordHash = hashes.get(i).get();
+                    hashed.add(pending);
+                } catch (ExecutionException e) {
+                    reject(pending, "Password could not be hashed", taken, report);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted", e);
+        }
+
+        // Always a fresh transaction: a batch must commit or fail on its own even if a caller has one open
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(status -> target.insert(jdbcTemplate, hashed));
+            accept(hashed, target, report);
+        } catch (DataAccessException batchFailure) {
+            // Something raced us or slipped past the pre-checks; isolate it to its row
+            for (PendingRow<T> pending : hashed) {
+                try {
+                    transaction.executeWithoutResult(status -> target.insert(jdbcTemplate, List.of(pending)));
+                    accept(List.of(pending), target, report);
+                } catch (DataIntegrityViolationException e) {
+                    reject(pending, describeIntegrityError(e, target), taken, report);
+                } catch (DataAccessException e) {
+                    reject(pending, "Row could not be saved", taken, report);
+                }
+            }
+        }
+    }
+
+    private <T> void accept(List<PendingRow<T>> rows, ImportTarget<T> target, BulkImportReport report) {
+        report.addImported(rows.size());
+        // JDBC inserts bypass the entity listener that normally feeds the login Bloom filter
+        rows.forEach(pending -> loginTimingGuard.recordEmail(target.realm(), target.uniqueKeys(pending.request).get("email")));
+        // ...and Hibernate's table timestamps, so a cached "no provider with this email" would outlive the insert
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+
+    private <T> void reject(PendingRow<T> pending, String message, Map<String, Set<String>> taken, BulkImportReport report) {
+        // Release the reservations so a later row with the same values can still go in
+        pending.keys.forEach((column, value) -> taken.get(column).remove(value));
+        report.addError(pending.row, message, maxReportedErrors);
+    }
+
+    private static String describeMappingError(IllegalArgumentException e) {
+        if (e.getCause() instanceof JsonMappingException mapping) {
+            String field = mapping.getPath().stream()
+                    .map(reference -> reference.getFieldName() != null ? reference.getFieldName() : "[" + reference.getIndex() + "]")
+                    .collect(Collectors.joining("."));
+            return "Invalid value" + (field.isEmpty() ? "" : " for " + field) + ": " + mapping.getOriginalMessage();
+        }
+        return "Invalid row: " + e.getMessage();
+    }
+
+    private static String describeIntegrityError(DataIntegrityViolationException e, ImportTarget<?> target) {
+        try {
+            return UniqueConstraintTranslator.translate(e, target.uniqueMessages()).getMessage();
+        } catch (DataIntegrityViolationException untranslated) {
+            return "Row violates a database constraint";
+        }
+    }
+
+    private static final class PendingRow<T> {
+        private final int row;
+        private final T request;
+        private final Map<String, String> keys;
+        private final UUID uuid = UuidV7.generate();
+        private String passwordHash;
+
+        private PendingRow(int row, T request, Map<String, String> keys) {
+            this.row = row;
+            this.request = request;
+            this.keys = keys;
+        }
+    }
+
+    private interface ImportTarget<T> {
+        Class<T> requestType();
+
+        String table();
+
+        String realm();
+
+        Set<String> listColumns();
+
+        // Unique column -> error message, in the order rows are checked
+        Map<String, String> uniqueMessages();
+
+        Map<String, String> uniqueKeys(T request);
+
+        String password(T request);
+
+        // Import files rarely carry a confirmation column; treat a missing one as matching
+        void defaultConfirmation(T request);
+
+        // Rules the service enforces beyond Bean Validation; null when the row is fine
+        String check(T request);
+
+        void insert(JdbcTemplate jdbc, List<PendingRow<T>> rows);
+    }
+
+    private static final class ProviderTarget implements ImportTarget<ProviderRegistrationRequest> {
+
+        private static final String INSERT = "INSERT INTO providers (uuid, first_name, last_name, email, phone_number, "
+                + "password_hash, specialization, license_number, years_of_experience, clinic_street, clinic_city, "
+                + "clinic_state, clinic_zip, verification_status, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        @Override
+        public Class<ProviderRegistrationRequest> requestType() {
+            return ProviderRegistrationRequest.class;
+        }
+
+        @Override
+        public String table() {
+            return "providers";
+        }
+
+        @Override
+        public String realm() {
+            return LoginRateLimiter.PROVIDER_REALM;
+        }
+
+        @Override
+        public Set<String> listColumns() {
+            return Set.of();
+        }
+
+        @Override
+        public Map<String, String> uniqueMessages() {
+            return ProviderService.UNIQUE_FIELD_MESSAGES;
+        }
+
+        @Override
+        public Map<String, String> uniqueKeys(ProviderRegistrationRequest request) {
+            Map<String, String> keys = new LinkedHashMap<>();
+            keys.put("email", request.getEmail());
+            keys.put("phone_number", request.getPhoneNumber());
+            keys.put("license_number", request.getLicenseNumber());
+            return keys;
+        }
+
+        @Override
+        public String password(ProviderRegistrationRequest request) {
+            return request.getPassword();
+        }
+
+        @Override
+        public void defaultConfirmation(ProviderRegistrationRequest request) {
+            if (request.getConfirmPassword() == null) {
+                request.setConfirmPassword(request.getPassword());
+            }
+        }
+
+        @Override
+        public String check(ProviderRegistrationRequest request) {
+            if (!request.getPassword().equals(request.getConfirmPassword())) {
+                return "Password and confirmation password do not match";
+            }
+            return null;
+        }
+
+        @Override
+        public void insert(JdbcTemplate jdbc, List<PendingRow<ProviderRegistrationRequest>> rows) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbc.batchUpdate(INSERT, rows, rows.size(), (PreparedStatement ps, PendingRow<ProviderRegistrationRequest> pending) -> {
+                ProviderRegistrationRequest request = pending.request;
+                ps.setObject(1, pending.uuid);
+                ps.setString(2, request.getFirstName());
+                ps.setString(3, request.getLastName());
+                ps.setString(4, request.getEmail());
+                ps.setString(5, request.getPhoneNumber());
+                ps.setString(6, pending.passwordHash);
+                ps.setString(7, request.getSpecialization());
+                ps.setString(8, request.getLicenseNumber());
+                ps.setObject(9, request.getYearsOfExperience());
+                ps.setString(10, request.getClinicAddress().getStreet());
+                ps.setString(11, request.getClinicAddress().getCity());
+                ps.setString(12, request.getClinicAddress().getState());
+                ps.setString(13, request.getClinicAddress().getZip());
+                ps.setString(14, Provider.VerificationStatus.PENDING.name());
+                ps.setBoolean(15, true);
+                ps.setTimestamp(16, now);
+                ps.setTimestamp(17, now);
+            });
+        }
+    }
+
+    private static final class PatientTarget implements ImportTarget<PatientRegistrationRequest> {
+
+        private static final String INSERT = "INSERT INTO patients (uuid, first_name, last_name, email, phone_number, "
+                + "password_hash, date_of_birth, gender, street, city, state, zip, name, phone, relationship, "
+                + "provider, policy_number, email_verified, phone_verified, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        // Resolves the generated id by uuid so the batch never needs generated keys back
+        private static final String INSERT_HISTORY = "INSERT INTO patient_medical_history (patient_id, medical_history) "
+                + "SELECT id, ? FROM patients WHERE uuid = ?";
+
+        @Override
+        public Class<PatientRegistrationRequest> requestType() {
+            return PatientRegistrationRequest.class;
+        }
+
+        @Override
+        public String table() {
+            return "patients";
+        }
+
+        @Override
+        public String realm() {
+            return LoginRateLimiter.PATIENT_REALM;
+        }
+
+        @Override
+        public Set<String> listColumns() {
+            return Set.of("medicalHistory");
+        }
+
+        @Override
+        public Map<String, String> uniqueMessages() {
+            return PatientService.UNIQUE_FIELD_MESSAGES;
+        }
+
+        @Override
+        public Map<String, String> uniqueKeys(PatientRegistrationRequest request) {
+            Map<String, String> keys = new LinkedHashMap<>();
+            keys.put("email", request.getEmail());
+            keys.put("phone_number", request.getPhoneNumber());
+            return keys;
+        }
+
+        @Override
+        public String password(PatientRegistrationRequest request) {
+            return request.getPassword();
+        }
+
+        @Override
+        public void defaultConfirmation(PatientRegistrationRequest request) {
+            if (request.getConfirmPassword() == null) {
+                request.setConfirmPassword(request.getPassword());
+            }
+        }
+
+        @Override
+        public String check(PatientRegistrationRequest request) {
+            if (!request.getPassword().equals(request.getConfirmPassword())) {
+                return "Password and confirmation password do not match";
+            }
+            // Same COPPA rule as PatientService.registerPatient
+            if (Period.between(request.getDateOfBirth(), LocalDate.now()).getYears() < 13) {
+                return "Patient must be at least 13 years old";
+            }
+            return null;
+        }
+
+        @Override
+        public void insert(JdbcTemplate jdbc, List<PendingRow<PatientRegistrationRequest>> rows) {
+            OffsetDateTime now = OffsetDateTime.now();
+            jdbc.batchUpdate(INSERT, rows, rows.size(), (PreparedStatement ps, PendingRow<PatientRegistrationRequest> pending) -> {
+                PatientRegistrationRequest request = pending.request;
+                ps.setObject(1, pending.uuid);
+                ps.setString(2, request.getFirstName());
+                ps.setString(3, request.getLastName());
+                ps.setString(4, request.getEmail());
+                ps.setString(5, request.getPhoneNumber());
+                ps.setString(6, pending.passwordHash);
+                ps.setDate(7, Date.valueOf(request.getDateOfBirth()));
+                ps.setString(8, request.getGender().name());
+                ps.setString(9, request.getAddress().getStreet());
+                ps.setString(10, request.getAddress().getCity());
+                ps.setString(11, request.getAddress().getState());
+                ps.setString(12, request.getAddress().getZip());
+                ps.setString(13, request.getEmergencyContact() != null ? request.getEmergencyContact().getName() : null);
+                ps.setString(14, request.getEmergencyContact() != null ? request.getEmergencyContact().getPhone() : null);
+                ps.setString(15, request.getEmergencyContact() != null ? request.getEmergencyContact().getRelationship() : null);
+                ps.setString(16, request.getInsuranceInfo() != null ? request.getInsuranceInfo().getProvider() : null);
+                ps.setString(17, request.getInsuranceInfo() != null ? request.getInsuranceInfo().getPolicyNumber() : null);
+                ps.setBoolean(18, false);
+                ps.setBoolean(19, false);
+                ps.setBoolean(20, true);
+                ps.setObject(21, now);
+                ps.setObject(22, now);
+            });
+
+            List<Object[]> history = new ArrayList<>();
+            for (PendingRow<PatientRegistrationRequest> pending : rows) {
+                if (pending.request.getMedicalHistory() != null) {
+                    pending.request.getMedicalHistory().forEach(entry -> history.add(new Object[] {entry, pending.uuid}));
+                }
+            }
+            if (!history.isEmpty()) {
+                jdbc.batchUpdate(INSERT_HISTORY, history);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.healthfirst.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthfirst.server.entity.Patient;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.repository.PatientRepository;
+import com.healthfirst.server.repository.ProviderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Turns public UUIDs into JPA references for setting foreign keys without loading the row.
+// The uuid -> id mapping never changes and rows are only ever soft-deleted, so resolved ids are
+// cached without invalidation; unknown UUIDs are not cached.
+@Component
+public class EntityReferenceResolver implements MeterBinder {
+
+    private final ProviderRepository providerRepository;
+    private final PatientRepository patientRepository;
+    private final EntityManager entityManager;
+
+    private final Cache<UUID, Long> providerIds;
+    private final Cache<UUID, Long> patientIds;
+
+    public EntityReferenceResolver(
+            ProviderRepository providerRepository,
+            PatientRepository patientRepository,
+            EntityManager entityManager,
+            @Value("${reference-cache.max-entries:100000}") long maxEntries) {
+        this.providerRepository = providerRepository;
+        this.patientRepository = patientRepository;
+        this.entityManager = entityManager;
+        this.providerIds = Caffeine.newBuilder().maximumSize(maxEntries).recordStats().build();
+        this.patientIds = Caffeine.newBuilder().maximumSize(maxEntries).recordStats().build();
+    }
+
+    // A miss is one id lookup query; unknown UUIDs count as misses on every request
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, providerIds, "provider-ids");
+        CaffeineCacheMetrics.monitor(registry, patientIds, "patient-ids");
+    }
+
+    public Long providerId(UUID uuid) {
+        return findProviderId(uuid).orElseThrow(() -> new IllegalArgumentException("Provider not found"));
+    }
+
+    // For read paths where an unknown provider simply has no rows
+    public Optional<Long> findProviderId(UUID uuid) {
+        return Optional.ofNullable(providerIds.get(uuid, key -> providerRepository.findIdByUuid(key).orElse(null)));
+    }
+
+    public Long patientId(UUID uuid) {
+        Long id = patientIds.get(uuid, key -> patientRepository.findIdByUuid(key).orElse(null));
+        if (id == null) {
+            throw new IllegalArgumentException("Patient not found");
+        }
+        return id;
+    }
+
+    // Uninitialized proxy; reading anything but the id loads it (from the second-level cache if present)
+    public Provider providerReference(UUID uuid) {
+        return entityManager.getReference(Provider.class, providerId(uuid));
+    }
+
+    public Patient patientReference(UUID uuid) {
+        return entityManager.getReference(Patient.class, patientId(uuid));
+    }
+}
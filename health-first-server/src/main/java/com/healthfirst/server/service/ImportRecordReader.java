@@ -0,0 +1,206 @@
+package com.healthfirst.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Streams import rows one at a time from CSV or NDJSON so a file never has to fit in memory.
+// Every row comes out as the same nested map shape the JSON registration endpoints accept.
+public class ImportRecordReader implements Iterator<ImportRecordReader.Record>, AutoCloseable {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+                return CSV;
+            }
+            if (contentType != null && (contentType.toLowerCase().startsWith("application/x-ndjson")
+                    || contentType.toLowerCase().startsWith("application/jsonl"))) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                    + " (expected text/csv or application/x-ndjson)");
+        }
+    }
+
+    // fields is null when the row could not be parsed; error then says why
+    public record Record(int row, Map<String, Object> fields, String error) {
+    }
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final Set<String> listColumns;
+
+    private List<String> header;
+    private Record next;
+    private int row;
+
+    // listColumns are CSV columns holding a ';'-separated list (NDJSON uses real arrays)
+    public ImportRecordReader(InputStream input, Format format, ObjectMapper objectMapper, Set<String> listColumns) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.listColumns = listColumns;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = format == Format.CSV ? readCsv() : readNdjson();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Record record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Record readNdjson() {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        row++;
+        try {
+            return new Record(row, objectMapper.readValue(line, MAP_TYPE), null);
+        } catch (JsonProcessingException e) {
+            return new Record(row, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Record readCsv() {
+        if (header == null) {
+            List<String> names = readCsvCells();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(String::trim).toList();
+        }
+
+        List<String> cells;
+        do {
+            cells = readCsvCells();
+            if (cells == null) {
+                return null;
+            }
+        } while (cells.size() == 1 && cells.get(0).isBlank());
+
+        row++;
+        if (cells.size() != header.size()) {
+            return new Record(row, null, "Expected " + header.size() + " columns but found " + cells.size());
+        }
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = cells.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            String column = header.get(i);
+            Object converted = listColumns.contains(column)
+                    ? Arrays.stream(value.split(";")).map(String::trim).filter(s -> !s.isEmpty()).toList()
+                    : value;
+            put(fields, column, converted);
+        }
+        return new Record(row, fields, null);
+    }
+
+    // "clinicAddress.city" becomes {"clinicAddress": {"city": ...}}
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> fields, String column, Object value) {
+        String[] path = column.split("\\.");
+        Map<String, Object> target = fields;
+        for (int i = 0; i < path.length - 1; i++) {
+            target = (Map<String, Object>) target.computeIfAbsent(path[i], key -> new LinkedHashMap<String, Object>());
+        }
+        target.put(path[path.length - 1], value);
+    }
+
+    // RFC 4180: quoted cells may contain commas, doubled quotes and line breaks
+    private List<String> readCsvCells() {
+        String line = readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+
+            if (!quoted) {
+                break;
+            }
+            line = readLine();
+            if (line == null) {
+                break;
+            }
+            cell.append('\n');
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -31,6 +31,9 @@ public class JwtService {
         claims.put("role", "PROVIDER");
         claims.put("specialization", provider.getSpecialization());
         claims.put("verification_status", provider.getVerificationStatus().name());
+        if (jwtConfig.isAdminEmail(provider.getEmail())) {
+            claims.put("admin", true);
+        }
         
         return createToken(claims, provider.getEmail());
     }
@@ -138,6 +141,11 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    // Verifies signature and expiry in a single parse; throws JwtException when the token is not usable
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
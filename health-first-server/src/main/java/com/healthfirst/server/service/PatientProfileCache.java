@@ -0,0 +1,134 @@
+package com.healthfirst.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.healthfirst.server.dto.PatientResponse;
+import com.healthfirst.server.dto.RawJson;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Serialized PatientResponse payloads keyed by uuid (plus an email -> uuid index), so repeat
+// profile reads skip the patient query, the medical history query and JSON mapping.
+// PatientService invalidates an entry on every write that changes what the profile shows.
+@Component
+public class PatientProfileCache implements MeterBinder {
+
+    private record Entry(String email, RawJson json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, Entry> profiles;
+    private final Cache<String, UUID> uuidsByEmail;
+
+    // Bumped on every invalidation; a load that overlapped one is returned but not cached,
+    // since it may have read the row before the write committed
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder skippedPuts = new LongAdder();
+
+    public PatientProfileCache(
+            ObjectMapper objectMapper,
+            @Value("${patient-profile-cache.max-entries:10000}") long maxEntries,
+            @Value("${patient-profile-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.uuidsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public RawJson getByUuid(UUID uuid, Supplier<PatientResponse> loader) {
+        Entry entry = profiles.getIfPresent(uuid);
+        return entry != null ? entry.json() : load(loader);
+    }
+
+    public RawJson getByEmail(String email, Supplier<PatientResponse> loader) {
+        UUID uuid = uuidsByEmail.getIfPresent(email);
+        Entry entry = uuid != null ? profiles.getIfPresent(uuid) : null;
+        // The index can outlive an email change; only trust it if the profile still carries this email
+        if (entry != null && entry.email().equals(email)) {
+            return entry.json();
+        }
+        return load(loader);
+    }
+
+    // Evicts now and again once the surrounding transaction commits, so a read that raced the
+    // write cannot leave the pre-write profile behind
+    public void invalidate(UUID uuid) {
+        evict(uuid);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(uuid);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = profiles.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", profiles.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hit_rate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("invalidations", invalidations.get());
+        result.put("skipped_puts", skippedPuts.sum());
+        return result;
+    }
+
+    // cache.gets{cache="patient-profiles",result="hit|miss"}, cache.size, cache.evictions
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profiles, "patient-profiles");
+    }
+
+    private RawJson load(Supplier<PatientResponse> loader) {
+        long generation = invalidations.get();
+        PatientResponse response = loader.get();
+        RawJson json = serialize(response);
+
+        if (invalidations.get() == generation) {
+            profiles.put(response.getUuid(), new Entry(response.getEmail(), json));
+            uuidsByEmail.put(response.getEmail(), response.getUuid());
+        } else {
+            skippedPuts.increment();
+        }
+        return json;
+    }
+
+    private void evict(UUID uuid) {
+        invalidations.incrementAndGet();
+        profiles.invalidate(uuid);
+    }
+
+    private RawJson serialize(PatientResponse response) {
+        try {
+            return new RawJson(objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize patient profile", e);
+        }
+    }
+}
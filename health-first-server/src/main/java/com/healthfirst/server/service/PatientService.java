@@ -1,15 +1,25 @@
 package com.healthfirst.server.service;
 
+import com.healthfirst.server.dto.BulkStatusUpdateRequest;
+import com.healthfirst.server.dto.BulkStatusUpdateResponse;
 import com.healthfirst.server.dto.PatientLoginRequest;
 import com.healthfirst.server.dto.PatientLoginResponse;
 import com.healthfirst.server.dto.PatientRegistrationRequest;
 import com.healthfirst.server.dto.PatientResponse;
 import com.healthfirst.server.entity.Patient;
+import com.healthfirst.server.entity.RefreshToken;
+import com.healthfirst.server.exception.InvalidCredentialsException;
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
+import com.healthfirst.server.exception.UniqueConstraintTranslator;
 import com.healthfirst.server.repository.PatientRepository;
+import com.healthfirst.server.security.LoginRateLimiter;
+import com.healthfirst.server.security.LoginTimingGuard;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,8 +27,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,6 +41,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class PatientService {
 
+    // Unique columns and the error each one maps to; shared with BulkImportService
+    static final Map<String, String> UNIQUE_FIELD_MESSAGES = new LinkedHashMap<>();
+
+    static {
+        UNIQUE_FIELD_MESSAGES.put("email", "Email already exists");
+        UNIQUE_FIELD_MESSAGES.put("phone_number", "Phone number already exists");
+    }
+
     @Autowired
     private PatientRepository patientRepository;
 
@@ -35,25 +58,75 @@ public class PatientService {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginTimingGuard loginTimingGuard;
+
+    @Autowired
+    private PatientProfileCache patientProfileCache;
+
     public PatientLoginResponse loginPatient(PatientLoginRequest request) {
-        // Find patient by email
-        Optional<Patient> patientOpt = patientRepository.findByEmail(request.getEmail());
-        if (!patientOpt.isPresent()) {
-            throw new IllegalArgumentException("Invalid email or password");
+        // Find patient by email, skipping the query for emails the Bloom filter has never seen
+        Patient patient = loginTimingGuard.mightExist(LoginRateLimiter.PATIENT_REALM, request.getEmail())
+                ? patientRepository.findByEmail(request.getEmail()).orElse(null)
+                : null;
+
+        // Unknown accounts still pay for one hash so the response time does not reveal them
+        if (patient == null) {
+            loginTimingGuard.verifyAgainstDummy(request.getPassword());
+            throw new InvalidCredentialsException("Invalid email or password");
         }
 
-        Patient patient = patientOpt.get();
+        // Verify password before the active check so deactivated accounts cost the same as any other
+        if (!passwordEncoder.matches(request.getPassword(), patient.getPasswordHash())) {
+            throw new InvalidCredentialsException("Invalid email or password");
+        }
 
         // Check if account is active
         if (!patient.getIsActive()) {
             throw new IllegalArgumentException("Account is deactivated. Please contact support.");
         }
 
-        // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), patient.getPasswordHash())) {
-            throw new IllegalArgumentException("Invalid email or password");
+        // Migrate the stored hash to the current algorithm and cost while we have the raw password
+        if (passwordEncoder.upgradeEncoding(patient.getPasswordHash())) {
+            try {
+                patient.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+                patientRepository.save(patient);
+            } catch (PasswordHashingCapacityException e) {
+                // Not worth failing a valid login over; the upgrade is retried on the next one
+            }
         }
 
+        // Start a new refresh token family for this login
+        String refreshToken = refreshTokenService.issue(RefreshToken.SubjectType.PATIENT, patient.getUuid());
+
+        return buildLoginResponse(patient, refreshToken);
+    }
+
+    // Revocations on reuse or deactivation must survive the rejection
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public PatientLoginResponse refreshPatientToken(String refreshToken) {
+        // Rotate first so a replayed token is detected even if the account has since changed
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(
+                refreshToken, RefreshToken.SubjectType.PATIENT);
+
+        // Account state is only re-checked here, keeping per-request JWT verification local
+        Patient patient = patientRepository.findByUuid(rotation.subjectUuid()).orElse(null);
+        if (patient == null || !patient.getIsActive()) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            throw new IllegalArgumentException("Account is deactivated. Please contact support.");
+        }
+
+        return buildLoginResponse(patient, rotation.refreshToken());
+    }
+
+    public void logoutPatient(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
+    private PatientLoginResponse buildLoginResponse(Patient patient, String refreshToken) {
         // Generate JWT token
         String token = jwtService.generateToken(patient);
 
@@ -71,7 +144,8 @@ public class PatientService {
         );
 
         // Return login response
-        return new PatientLoginResponse(token, 1800L, "Bearer", patientData);
+        return new PatientLoginResponse(token, jwtService.getExpirationTime(), "Bearer",
+            refreshToken, refreshTokenService.getRefreshExpirationTime(), patientData);
     }
 
     public PatientResponse registerPatient(PatientRegistrationRequest request) {
@@ -88,16 +162,6 @@ public class PatientService {
             }
         }
 
-        // Check for existing email
-        if (patientRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-
-        // Check for existing phone number
-        if (patientRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw new IllegalArgumentException("Phone number already exists");
-        }
-
         // Create new patient
         Patient patient = new Patient();
         patient.setFirstName(request.getFirstName());
@@ -115,7 +179,13 @@ public class PatientService {
         patient.setPhoneVerified(false);
         patient.setIsActive(true);
 
-        Patient savedPatient = patientRepository.save(patient);
+        // Uniqueness is enforced by the INSERT itself: one round trip, and no window between check and write
+        Patient savedPatient;
+        try {
+            savedPatient = patientRepository.saveAndFlush(patient);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraintTranslator.translate(e, UNIQUE_FIELD_MESSAGES);
+        }
         return new PatientResponse(savedPatient);
     }
 
@@ -145,6 +215,19 @@ public class PatientService {
         return patients.map(PatientResponse::new);
     }
 
+    // Without the total, a Slice query fetches one extra row to learn whether a next page exists
+    // and the COUNT query is skipped
+    public Slice<PatientResponse> getAllPatients(int page, int size, String sortBy, String sortDir,
+                                                 boolean includeTotal) {
+        if (includeTotal) {
+            return getAllPatients(page, size, sortBy, sortDir);
+        }
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+            Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        return patientRepository.sliceAllActive(PageRequest.of(page, size, sort)).map(PatientResponse::new);
+    }
+
     public Page<PatientResponse> searchPatients(
             String firstName, 
             String lastName, 
@@ -161,6 +244,22 @@ public class PatientService {
         return patients.map(PatientResponse::new);
     }
 
+    public Slice<PatientResponse> searchPatients(
+            String firstName,
+            String lastName,
+            String email,
+            Patient.Gender gender,
+            Boolean isActive,
+            int page,
+            int size,
+            boolean includeTotal) {
+        if (includeTotal) {
+            return searchPatients(firstName, lastName, email, gender, isActive, page, size);
+        }
+        return patientRepository.sliceByFilters(firstName, lastName, email, gender, isActive, PageRequest.of(page, size))
+                .map(PatientResponse::new);
+    }
+
     public PatientResponse updatePatient(UUID uuid, PatientRegistrationRequest request) {
         Optional<Patient> existingPatient = patientRepository.findByUuid(uuid);
         if (!existingPatient.isPresent()) {
@@ -202,50 +301,63 @@ public class PatientService {
         }
 
         Patient savedPatient = patientRepository.save(patient);
+        patientProfileCache.invalidate(uuid);
         return new PatientResponse(savedPatient);
     }
 
     public void deactivatePatient(UUID uuid) {
-        Optional<Patient> patient = patientRepository.findByUuid(uuid);
-        if (patient.isPresent()) {
-            Patient p = patient.get();
-            p.setIsActive(false);
-            patientRepository.save(p);
-        } else {
-            throw new IllegalArgumentException("Patient not found");
-        }
+        requireUpdated(patientRepository.updateActiveByUuidIn(List.of(uuid), false, ZonedDateTime.now()));
+        patientProfileCache.invalidate(uuid);
     }
 
     public void activatePatient(UUID uuid) {
-        Optional<Patient> patient = patientRepository.findByUuid(uuid);
-        if (patient.isPresent()) {
-            Patient p = patient.get();
-            p.setIsActive(true);
-            patientRepository.save(p);
-        } else {
-            throw new IllegalArgumentException("Patient not found");
-        }
+        requireUpdated(patientRepository.updateActiveByUuidIn(List.of(uuid), true, ZonedDateTime.now()));
+        patientProfileCache.invalidate(uuid);
     }
 
     public void verifyEmail(UUID uuid) {
-        Optional<Patient> patient = patientRepository.findByUuid(uuid);
-        if (patient.isPresent()) {
-            Patient p = patient.get();
-            p.setEmailVerified(true);
-            patientRepository.save(p);
-        } else {
-            throw new IllegalArgumentException("Patient not found");
-        }
+        requireUpdated(patientRepository.markEmailVerifiedByUuidIn(List.of(uuid), ZonedDateTime.now()));
+        patientProfileCache.invalidate(uuid);
     }
 
     public void verifyPhone(UUID uuid) {
-        Optional<Patient> patient = patientRepository.findByUuid(uuid);
-        if (patient.isPresent()) {
-            Patient p = patient.get();
-            p.setPhoneVerified(true);
-            patientRepository.save(p);
-        } else {
+        requireUpdated(patientRepository.markPhoneVerifiedByUuidIn(List.of(uuid), ZonedDateTime.now()));
+        patientProfileCache.invalidate(uuid);
+    }
+
+    // Bulk variants: one UPDATE for the whole list instead of a load and a save per patient
+    public BulkStatusUpdateResponse setPatientsActive(List<UUID> uuids, boolean active) {
+        Set<UUID> distinct = distinctUuids(uuids);
+        int updated = patientRepository.updateActiveByUuidIn(distinct, active, ZonedDateTime.now());
+        distinct.forEach(patientProfileCache::invalidate);
+        return new BulkStatusUpdateResponse(distinct.size(), updated);
+    }
+
+    public BulkStatusUpdateResponse verifyEmails(List<UUID> uuids) {
+        Set<UUID> distinct = distinctUuids(uuids);
+        int updated = patientRepository.markEmailVerifiedByUuidIn(distinct, ZonedDateTime.now());
+        distinct.forEach(patientProfileCache::invalidate);
+        return new BulkStatusUpdateResponse(distinct.size(), updated);
+    }
+
+    public BulkStatusUpdateResponse verifyPhones(List<UUID> uuids) {
+        Set<UUID> distinct = distinctUuids(uuids);
+        int updated = patientRepository.markPhoneVerifiedByUuidIn(distinct, ZonedDateTime.now());
+        distinct.forEach(patientProfileCache::invalidate);
+        return new BulkStatusUpdateResponse(distinct.size(), updated);
+    }
+
+    private static void requireUpdated(int updated) {
+        if (updated == 0) {
             throw new IllegalArgumentException("Patient not found");
         }
     }
-} 
\ No newline at end of file
+
+    private static Set<UUID> distinctUuids(List<UUID> uuids) {
+        Set<UUID> distinct = new LinkedHashSet<>(uuids);
+        if (distinct.size() > BulkStatusUpdateRequest.MAX_UUIDS) {
+            throw new IllegalArgumentException("At most " + BulkStatusUpdateRequest.MAX_UUIDS + " UUIDs can be updated per request");
+        }
+        return distinct;
+    }
+}
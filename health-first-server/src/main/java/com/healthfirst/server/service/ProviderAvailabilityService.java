@@ -1,5 +1,6 @@
 package com.healthfirst.server.service;
 
+import com.healthfirst.server.dto.AvailabilityVersion;
 import com.healthfirst.server.dto.ProviderAvailabilityRequest;
 import com.healthfirst.server.dto.ProviderAvailabilityResponse;
 import com.healthfirst.server.entity.AppointmentSlot;
@@ -9,15 +10,24 @@ import com.healthfirst.server.entity.Provider;
 import com.healthfirst.server.entity.ProviderAvailability;
 import com.healthfirst.server.repository.AppointmentSlotRepository;
 import com.healthfirst.server.repository.ProviderAvailabilityRepository;
-import com.healthfirst.server.repository.ProviderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -33,6 +43,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProviderAvailabilityService {
 
+    private static final String OVERLAP_MESSAGE = "Time slot overlaps with existing availability";
+    private static final String OVERLAP_CONSTRAINT = "ex_provider_availability_overlap";
+    // PostgreSQL's SQLState for an exclusion constraint violation
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    // Open end for "from today on" ranges; well inside what every supported database stores
+    private static final LocalDate LAST_SCHEDULABLE_DATE = LocalDate.of(9999, 12, 31);
+
     @Autowired
     private ProviderAvailabilityRepository availabilityRepository;
 
@@ -40,12 +58,25 @@ public class ProviderAvailabilityService {
     private AppointmentSlotRepository appointmentSlotRepository;
 
     @Autowired
-    private ProviderRepository providerRepository;
+    private EntityReferenceResolver entityReferenceResolver;
+
+    // availability.slots.generation (time and slot count per availability) and
+    // availability.overlap.rejected: concurrent edits racing for the same part of a schedule
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    // Overlaps are rejected by the database (exclusion constraint, PostgreSQL only); databases
+    // without it need the racy read-then-write check instead
+    @Value("${availability.overlap-precheck:false}")
+    private boolean overlapPrecheck;
 
     public ProviderAvailabilityResponse createAvailability(UUID providerId, ProviderAvailabilityRequest request) {
-        // Validate provider exists
-        Provider provider = providerRepository.findByUuid(providerId)
-                .orElseThrow(() -> new IllegalArgumentException("Provider not found"));
+        // Validate provider exists; only its id is needed to set the foreign key
+        Provider provider = entityReferenceResolver.providerReference(providerId);
+        Long providerPk = provider.getId();
 
         // Validate time range
         LocalTime startTime = request.getStartTimeAsLocalTime();
@@ -54,13 +85,14 @@ public class ProviderAvailabilityService {
         if (startTime.isAfter(endTime) || startTime.equals(endTime)) {
             throw new IllegalArgumentException("End time must be after start time");
         }
+        validateTimezone(request.getTimezone());
 
-        // Check for overlapping slots
-        List<ProviderAvailability> overlappingSlots = availabilityRepository.findOverlappingSlots(
-                providerId, request.getDate(), startTime, endTime);
-        
-        if (!overlappingSlots.isEmpty()) {
-            throw new IllegalArgumentException("Time slot overlaps with existing availability");
+        if (overlapPrecheck) {
+            List<ProviderAvailability> overlappingSlots = availabilityRepository.findOverlappingSlots(
+                    providerPk, request.getDate(), startTime, endTime);
+            if (!overlappingSlots.isEmpty()) {
+                throw overlapRejected("precheck");
+            }
         }
 
         // Create availability
@@ -98,7 +130,7 @@ public class ProviderAvailabilityService {
         availability.setSpecialRequirements(request.getSpecialRequirements());
         availability.setNotes(request.getNotes());
 
-        ProviderAvailability savedAvailability = availabilityRepository.save(availability);
+        ProviderAvailability savedAvailability = saveChecked(availability);
 
         // Generate appointment slots
         List<AppointmentSlot> slots = generateAppointmentSlots(savedAvailability);
@@ -107,20 +139,29 @@ public class ProviderAvailabilityService {
         return new ProviderAvailabilityResponse(savedAvailability);
     }
 
-    public Page<ProviderAvailabilityResponse> getProviderAvailability(
+    // includeTotal = false runs a Slice query (one extra row, no COUNT)
+    public Slice<ProviderAvailabilityResponse> getProviderAvailability(
             UUID providerId, 
             LocalDate startDate, 
             LocalDate endDate,
             ProviderAvailability.AvailabilityStatus status,
             ProviderAvailability.AppointmentType appointmentType,
             int page, 
-            int size) {
+            int size,
+            boolean includeTotal) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<ProviderAvailability> availabilities = availabilityRepository.findByProviderAndDateRange(
-                providerId, startDate, endDate, status, appointmentType, pageable);
+        Optional<Long> providerPk = entityReferenceResolver.findProviderId(providerId);
+        if (providerPk.isEmpty()) {
+            return includeTotal ? Page.empty(pageable) : new SliceImpl<>(List.of(), pageable, false);
+        }
+        Slice<ProviderAvailability> availabilities = includeTotal
+                ? availabilityRepository.findByProviderAndDateRange(
+                        providerPk.get(), startDate, endDate, status, appointmentType, pageable)
+                : availabilityRepository.sliceByProviderAndDateRange(
+                        providerPk.get(), startDate, endDate, status, appointmentType, pageable);
         
-        return availabilities.map(ProviderAvailabilityResponse::new);
+        return toResponses(availabilities);
     }
 
     public ProviderAvailabilityResponse updateAvailability(UUID availabilityId, ProviderAvailabilityRequest request) {
@@ -134,17 +175,16 @@ public class ProviderAvailabilityService {
         if (startTime.isAfter(endTime) || startTime.equals(endTime)) {
             throw new IllegalArgumentException("End time must be after start time");
         }
-
-        // Check for overlapping slots (excluding current availability)
-        List<ProviderAvailability> overlappingSlots = availabilityRepository.findOverlappingSlots(
-                availability.getProvider().getUuid(), request.getDate(), startTime, endTime);
-        
-        overlappingSlots = overlappingSlots.stream()
-                .filter(slot -> !slot.getUuid().equals(availabilityId))
-                .collect(Collectors.toList());
-        
-        if (!overlappingSlots.isEmpty()) {
-            throw new IllegalArgumentException("Time slot overlaps with existing availability");
+        validateTimezone(request.getTimezone());
+
+        if (overlapPrecheck) {
+            // Excluding the current availability; getId() on the lazy provider reads the foreign
+            // key without loading the provider
+            List<ProviderAvailability> overlappingSlots = availabilityRepository.findOverlappingSlots(
+                    availability.getProvider().getId(), request.getDate(), startTime, endTime);
+            if (overlappingSlots.stream().anyMatch(slot -> !slot.getUuid().equals(availabilityId))) {
+                throw overlapRejected("precheck");
+            }
         }
 
         // Update availability
@@ -182,11 +222,15 @@ public class ProviderAvailabilityService {
 
         availability.setSpecialRequirements(request.getSpecialRequirements());
         availability.setNotes(request.getNotes());
+        // A change to the special requirements alone only rewrites the collection table and leaves
+        // the row clean, so @UpdateTimestamp would not fire; updated_at feeds the listing ETag
+        availability.setUpdatedAt(ZonedDateTime.now());
 
-        ProviderAvailability savedAvailability = availabilityRepository.save(availability);
+        ProviderAvailability savedAvailability = saveChecked(availability);
 
         // Regenerate appointment slots
-        List<AppointmentSlot> existingSlots = appointmentSlotRepository.findByAvailabilityUuid(availabilityId);
+        List<AppointmentSlot> existingSlots = appointmentSlotRepository.findByAvailabilityIdIn(
+                List.of(savedAvailability.getId()));
         appointmentSlotRepository.deleteAll(existingSlots);
         
         List<AppointmentSlot> newSlots = generateAppointmentSlots(savedAvailability);
@@ -202,29 +246,28 @@ public class ProviderAvailabilityService {
         if (Boolean.TRUE.equals(deleteRecurring) && Boolean.TRUE.equals(availability.getIsRecurring())) {
             // Delete all recurring instances
             List<ProviderAvailability> recurringSlots = availabilityRepository.findActiveRecurringSlots(
-                    availability.getProvider().getUuid(), LocalDate.now());
+                    availability.getProvider().getId(), LocalDate.now());
             
-            List<UUID> availabilityIds = recurringSlots.stream()
-                    .map(ProviderAvailability::getUuid)
+            List<Long> availabilityIds = recurringSlots.stream()
+                    .map(ProviderAvailability::getId)
                     .collect(Collectors.toList());
             
-            // Delete appointment slots first
-            for (UUID id : availabilityIds) {
-                List<AppointmentSlot> slots = appointmentSlotRepository.findByAvailabilityUuid(id);
-                appointmentSlotRepository.deleteAll(slots);
+            // Delete appointment slots first, fetched for all instances in one query
+            if (!availabilityIds.isEmpty()) {
+                appointmentSlotRepository.deleteAll(appointmentSlotRepository.findByAvailabilityIdIn(availabilityIds));
             }
             
             // Delete availability slots
             availabilityRepository.deleteAll(recurringSlots);
         } else {
             // Delete only this instance
-            List<AppointmentSlot> slots = appointmentSlotRepository.findByAvailabilityUuid(availabilityId);
+            List<AppointmentSlot> slots = appointmentSlotRepository.findByAvailabilityIdIn(List.of(availability.getId()));
             appointmentSlotRepository.deleteAll(slots);
             availabilityRepository.delete(availability);
         }
     }
 
-    public Page<ProviderAvailabilityResponse> searchAvailableSlots(
+    public Slice<ProviderAvailabilityResponse> searchAvailableSlots(
             LocalDate startDate,
             LocalDate endDate,
             String specialization,
@@ -233,30 +276,101 @@ public class ProviderAvailabilityService {
             Boolean insuranceAccepted,
             BigDecimal maxPrice,
             int page,
-            int size) {
+            int size,
+            boolean includeTotal) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<ProviderAvailability> availabilities = availabilityRepository.searchAvailableSlots(
-                startDate, endDate, specialization, location, appointmentType, 
-                insuranceAccepted, maxPrice, pageable);
+        Slice<ProviderAvailability> availabilities = includeTotal
+                ? availabilityRepository.searchAvailableSlots(
+                        startDate, endDate, specialization, location, appointmentType,
+                        insuranceAccepted, maxPrice, pageable)
+                : availabilityRepository.sliceAvailableSlots(
+                        startDate, endDate, specialization, location, appointmentType,
+                        insuranceAccepted, maxPrice, pageable);
         
-        return availabilities.map(ProviderAvailabilityResponse::new);
+        return toResponses(availabilities);
     }
 
     public List<String> getAvailableSpecializations() {
         return availabilityRepository.findAvailableSpecializations(LocalDate.now());
     }
 
+    // Cheap validators for conditional GETs of the listings above; empty for unknown providers
+    public Optional<AvailabilityVersion> getAvailabilityVersion(UUID providerId, LocalDate startDate, LocalDate endDate) {
+        return entityReferenceResolver.findProviderId(providerId)
+                .flatMap(providerPk -> availabilityRepository.findAvailabilityVersion(providerPk, startDate, endDate));
+    }
+
+    public Optional<AvailabilityVersion> getUpcomingSlotsVersion(UUID providerId, LocalDate today) {
+        return getAvailabilityVersion(providerId, today, LAST_SCHEDULABLE_DATE);
+    }
+
     public List<ProviderAvailabilityResponse> getUpcomingSlots(UUID providerId) {
+        Optional<Long> providerPk = entityReferenceResolver.findProviderId(providerId);
+        if (providerPk.isEmpty()) {
+            return List.of();
+        }
         List<ProviderAvailability> availabilities = availabilityRepository.findUpcomingSlots(
-                providerId, LocalDate.now());
+                providerPk.get(), LocalDate.now());
         
-        return availabilities.stream()
+        return mapping(availabilities.size()).observe(() -> availabilities.stream()
                 .map(ProviderAvailabilityResponse::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    private Slice<ProviderAvailabilityResponse> toResponses(Slice<ProviderAvailability> availabilities) {
+        return mapping(availabilities.getNumberOfElements())
+                .observe(() -> availabilities.map(ProviderAvailabilityResponse::new));
+    }
+
+    // dto.mapping span: the response constructor reads the lazy provider and special requirements,
+    // so queries issued while mapping show up under it rather than under the listing query
+    private Observation mapping(int rows) {
+        return Observation.createNotStarted("dto.mapping", observationRegistry)
+                .lowCardinalityKeyValue("dto", "ProviderAvailabilityResponse")
+                .highCardinalityKeyValue("rows", String.valueOf(rows));
+    }
+
+    // Flushes so an overlap is reported by the INSERT/UPDATE itself, in the same round trip
+    private ProviderAvailability saveChecked(ProviderAvailability availability) {
+        try {
+            return availabilityRepository.saveAndFlush(availability);
+        } catch (DataAccessException e) {
+            if (isOverlapViolation(e)) {
+                throw overlapRejected("constraint");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isOverlapViolation(DataAccessException ex) {
+        for (Throwable cause = ex; cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Checked up front: the entity derives its absolute time range from the zone on every write
+    private static void validateTimezone(String timezone) {
+        try {
+            ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid timezone: " + timezone);
+        }
+    }
+
+    private IllegalArgumentException overlapRejected(String detectedBy) {
+        meterRegistry.counter("availability.overlap.rejected", "detected_by", detectedBy).increment();
+        return new IllegalArgumentException(OVERLAP_MESSAGE);
     }
 
     private List<AppointmentSlot> generateAppointmentSlots(ProviderAvailability availability) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         List<AppointmentSlot> slots = new ArrayList<>();
         
         LocalTime currentTime = availability.getStartTime();
@@ -290,11 +404,16 @@ public class ProviderAvailabilityService {
             // Move to next slot (including break duration)
             currentTime = slotEndTime.plusMinutes(availability.getBreakDuration());
         }
-        
+
+        sample.stop(meterRegistry.timer("availability.slots.generation"));
+        meterRegistry.summary("availability.slots.generated").record(slots.size());
         return slots;
     }
 
     public long getAvailableSlotsCount(UUID providerId, LocalDate startDate, LocalDate endDate) {
-        return availabilityRepository.countAvailableSlotsByProviderAndDateRange(providerId, startDate, endDate);
+        return entityReferenceResolver.findProviderId(providerId)
+                .map(providerPk -> availabilityRepository.countAvailableSlotsByProviderAndDateRange(
+                        providerPk, startDate, endDate))
+                .orElse(0L);
     }
 } 
\ No newline at end of file
@@ -1,20 +1,30 @@
 package com.healthfirst.server.service;
 
+import com.healthfirst.server.dto.BulkStatusUpdateRequest;
+import com.healthfirst.server.dto.BulkStatusUpdateResponse;
 import com.healthfirst.server.dto.ProviderRegistrationRequest;
 import com.healthfirst.server.dto.ProviderResponse;
 import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.exception.UniqueConstraintTranslator;
 import com.healthfirst.server.repository.ProviderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,6 +32,15 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProviderService {
 
+    // Unique columns and the error each one maps to; shared with BulkImportService
+    static final Map<String, String> UNIQUE_FIELD_MESSAGES = new LinkedHashMap<>();
+
+    static {
+        UNIQUE_FIELD_MESSAGES.put("email", "Email already exists");
+        UNIQUE_FIELD_MESSAGES.put("phone_number", "Phone number already exists");
+        UNIQUE_FIELD_MESSAGES.put("license_number", "License number already exists");
+    }
+
     @Autowired
     private ProviderRepository providerRepository;
 
@@ -34,21 +53,6 @@ public class ProviderService {
             throw new IllegalArgumentException("Password and confirmation password do not match");
         }
 
-        // Check for existing email
-        if (providerRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-
-        // Check for existing phone number
-        if (providerRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw new IllegalArgumentException("Phone number already exists");
-        }
-
-        // Check for existing license number
-        if (providerRepository.existsByLicenseNumber(request.getLicenseNumber())) {
-            throw new IllegalArgumentException("License number already exists");
-        }
-
         // Create new provider
         Provider provider = new Provider();
         provider.setFirstName(request.getFirstName());
@@ -61,7 +65,13 @@ public class ProviderService {
         provider.setYearsOfExperience(request.getYearsOfExperience());
         provider.setClinicAddress(request.getClinicAddress());
 
-        Provider savedProvider = providerRepository.save(provider);
+        // Uniqueness is enforced by the INSERT itself: one round trip, and no window between check and write
+        Provider savedProvider;
+        try {
+            savedProvider = providerRepository.saveAndFlush(provider);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraintTranslator.translate(e, UNIQUE_FIELD_MESSAGES);
+        }
         return new ProviderResponse(savedProvider);
     }
 
@@ -116,12 +126,18 @@ public class ProviderService {
     }
 
     public void deleteProvider(UUID uuid) {
-        Provider provider = providerRepository.findByUuid(uuid)
-                .orElseThrow(() -> new IllegalArgumentException("Provider not found with UUID: " + uuid));
-        
-        // Soft delete - set isActive to false
-        provider.setIsActive(false);
-        providerRepository.save(provider);
+        // Soft delete - set isActive to false in one targeted UPDATE
+        int updated = providerRepository.updateActiveByUuidIn(List.of(uuid), false, LocalDateTime.now());
+        if (updated == 0) {
+            throw new IllegalArgumentException("Provider not found with UUID: " + uuid);
+        }
+    }
+
+    // Bulk soft delete / reactivation in a single statement
+    public BulkStatusUpdateResponse setProvidersActive(List<UUID> uuids, boolean active) {
+        Set<UUID> distinct = distinctUuids(uuids);
+        int updated = providerRepository.updateActiveByUuidIn(distinct, active, LocalDateTime.now());
+        return new BulkStatusUpdateResponse(distinct.size(), updated);
     }
 
     public Page<ProviderResponse> getAllProviders(int page, int size, String sortBy, String sortDir) {
@@ -134,6 +150,19 @@ public class ProviderService {
         return providers.map(ProviderResponse::new);
     }
 
+    // Without the total, a Slice query fetches one extra row to learn whether a next page exists
+    // and the COUNT query is skipped
+    public Slice<ProviderResponse> getAllProviders(int page, int size, String sortBy, String sortDir,
+                                                   boolean includeTotal) {
+        if (includeTotal) {
+            return getAllProviders(page, size, sortBy, sortDir);
+        }
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+            Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        return providerRepository.findAllBy(PageRequest.of(page, size, sort)).map(ProviderResponse::new);
+    }
+
     public Page<ProviderResponse> searchProviders(String search, String verificationStatus, 
                                                 Boolean isActive, int page, int size, 
                                                 String sortBy, String sortDir) {
@@ -141,22 +170,37 @@ public class ProviderService {
             Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        
-        Provider.VerificationStatus status = null;
-        if (verificationStatus != null && !verificationStatus.isEmpty()) {
-            try {
-                status = Provider.VerificationStatus.valueOf(verificationStatus.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Invalid verification status: " + verificationStatus);
-            }
-        }
-
         Page<Provider> providers = providerRepository.searchProviders(search, 
-            status != null ? status.name() : null, isActive, pageable);
+            parseVerificationStatus(verificationStatus), isActive, pageable);
         
         return providers.map(ProviderResponse::new);
     }
 
+    public Slice<ProviderResponse> searchProviders(String search, String verificationStatus,
+                                                 Boolean isActive, int page, int size,
+                                                 String sortBy, String sortDir, boolean includeTotal) {
+        if (includeTotal) {
+            return searchProviders(search, verificationStatus, isActive, page, size, sortBy, sortDir);
+        }
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+            Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        return providerRepository.sliceProviders(search, parseVerificationStatus(verificationStatus), isActive,
+                PageRequest.of(page, size, sort)).map(ProviderResponse::new);
+    }
+
+    // Name of the status for the native search query, or null for no filter
+    private String parseVerificationStatus(String verificationStatus) {
+        if (verificationStatus == null || verificationStatus.isEmpty()) {
+            return null;
+        }
+        try {
+            return Provider.VerificationStatus.valueOf(verificationStatus.toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid verification status: " + verificationStatus);
+        }
+    }
+
     public Page<ProviderResponse> getActiveProviders(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
             Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
@@ -167,6 +211,17 @@ public class ProviderService {
         return providers.map(ProviderResponse::new);
     }
 
+    public Slice<ProviderResponse> getActiveProviders(int page, int size, String sortBy, String sortDir,
+                                                      boolean includeTotal) {
+        if (includeTotal) {
+            return getActiveProviders(page, size, sortBy, sortDir);
+        }
+        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? 
+            Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        return providerRepository.sliceAllActive(PageRequest.of(page, size, sort)).map(ProviderResponse::new);
+    }
+
     public List<ProviderResponse> getAllProvidersList() {
         List<Provider> providers = providerRepository.findAll();
         return providers.stream()
@@ -175,7 +230,7 @@ public class ProviderService {
     }
 
     public boolean existsByUuid(UUID uuid) {
-        return providerRepository.findByUuid(uuid).isPresent();
+        return providerRepository.existsByUuid(uuid);
     }
 
     public long countByVerificationStatus(Provider.VerificationStatus status) {
@@ -185,4 +240,12 @@ public class ProviderService {
     public long countByIsActive(boolean isActive) {
         return providerRepository.countByIsActive(isActive);
     }
-} 
\ No newline at end of file
+
+    private static Set<UUID> distinctUuids(List<UUID> uuids) {
+        Set<UUID> distinct = new LinkedHashSet<>(uuids);
+        if (distinct.size() > BulkStatusUpdateRequest.MAX_UUIDS) {
+            throw new IllegalArgumentException("At most " + BulkStatusUpdateRequest.MAX_UUIDS + " UUIDs can be updated per request");
+        }
+        return distinct;
+    }
+}
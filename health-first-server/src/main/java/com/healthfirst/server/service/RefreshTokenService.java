@@ -0,0 +1,124 @@
+package com.healthfirst.server.service;
+
+import com.healthfirst.server.config.JwtConfig;
+import com.healthfirst.server.entity.RefreshToken;
+import com.healthfirst.server.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtConfig jwtConfig;
+
+    public String issue(RefreshToken.SubjectType subjectType, UUID subjectUuid) {
+        // A fresh login starts a new rotation family
+        return issue(subjectType, subjectUuid, UUID.randomUUID());
+    }
+
+    // Reuse detection revokes the family and then rejects, so the revocation must not be rolled back
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Rotation rotate(String rawToken, RefreshToken.SubjectType expectedSubjectType) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new IllegalArgumentException("Refresh token is required");
+        }
+
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+
+        if (current.getSubjectType() != expectedSubjectType) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        Instant now = Instant.now();
+
+        // A token that was already rotated or revoked is being replayed: kill the whole family
+        if (current.getRevokedAt() != null) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+
+        if (current.isExpired()) {
+            throw new IllegalArgumentException("Refresh token has expired");
+        }
+
+        String nextRawToken = generateRawToken();
+        String nextHash = hash(nextRawToken);
+
+        // Lost the race against a concurrent refresh of the same token, which is also reuse
+        if (refreshTokenRepository.markRotated(current.getId(), now, nextHash) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+
+        save(nextHash, current.getSubjectType(), current.getSubjectUuid(), current.getFamilyId());
+
+        return new Rotation(current.getSubjectType(), current.getSubjectUuid(), nextRawToken);
+    }
+
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    public long getRefreshExpirationTime() {
+        return jwtConfig.getRefreshExpiration();
+    }
+
+    private String issue(RefreshToken.SubjectType subjectType, UUID subjectUuid, UUID familyId) {
+        String rawToken = generateRawToken();
+        save(hash(rawToken), subjectType, subjectUuid, familyId);
+        return rawToken;
+    }
+
+    private void save(String tokenHash, RefreshToken.SubjectType subjectType, UUID subjectUuid, UUID familyId) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(tokenHash);
+        token.setFamilyId(familyId);
+        token.setSubjectType(subjectType);
+        token.setSubjectUuid(subjectUuid);
+        token.setExpiresAt(Instant.now().plusSeconds(jwtConfig.getRefreshExpiration()));
+        refreshTokenRepository.save(token);
+    }
+
+    private String generateRawToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Result of a successful rotation: who the token belongs to and the replacement handed back to the client
+    public record Rotation(RefreshToken.SubjectType subjectType, UUID subjectUuid, String refreshToken) {}
+}
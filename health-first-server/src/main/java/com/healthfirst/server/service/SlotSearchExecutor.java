@@ -0,0 +1,145 @@
+package com.healthfirst.server.service;
+
+import com.healthfirst.server.exception.SlotSearchCapacityException;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Runs the read-only slot search queries off the servlet threads. The controller hands back a
+// CompletableFuture, so a waiting search holds only its async request context, not a Tomcat thread;
+// a few pool threads (sized below the connection pool) do the JDBC work. Searches beyond
+// poolSize + queueCapacity are rejected with 429 straight away instead of piling up in memory.
+// The counters are published as slot.search.* meters.
+@Component
+public class SlotSearchExecutor implements MeterBinder {
+
+    // Carries the request's current observation and SQL statement tally onto the search thread, so
+    // query spans stay in its trace and its statements are counted against the request
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueWaitNanos;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+
+    public SlotSearchExecutor(
+            @Value("${slot-search.pool-size:8}") int poolSize,
+            @Value("${slot-search.queue-capacity:1000}") int queueCapacity,
+            @Value("${slot-search.max-queue-wait-ms:10000}") long maxQueueWaitMillis) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slot-search-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ContextSnapshot context = CONTEXT_SNAPSHOTS.captureAll();
+        try {
+            executor.execute(context.wrap(() -> {
+                long startedAt = System.nanoTime();
+                // The client has been answered with a timeout by now; skip the query
+                if (startedAt - enqueuedAt > maxQueueWaitNanos) {
+                    expired.increment();
+                    result.completeExceptionally(new SlotSearchCapacityException("Slot search queue wait exceeded, please retry shortly"));
+                    return;
+                }
+                queueWaitNanos.add(startedAt - enqueuedAt);
+                T value;
+                try {
+                    value = query.get();
+                } catch (RuntimeException e) {
+                    recordCompletion(startedAt);
+                    result.completeExceptionally(e);
+                    return;
+                }
+                // Stats first, so they already include this search when the caller sees its result
+                recordCompletion(startedAt);
+                result.complete(value);
+            }));
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new SlotSearchCapacityException("Slot search capacity exceeded, please retry shortly", e);
+        }
+        return result;
+    }
+
+    private void recordCompletion(long startedAt) {
+        queryNanos.add(System.nanoTime() - startedAt);
+        completed.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long done = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pool_size", executor.getMaximumPoolSize());
+        stats.put("active_threads", executor.getActiveCount());
+        stats.put("queue_depth", executor.getQueue().size());
+        stats.put("queue_remaining_capacity", executor.getQueue().remainingCapacity());
+        stats.put("submitted", submitted.sum());
+        stats.put("completed", done);
+        stats.put("rejected", rejected.sum());
+        stats.put("expired_in_queue", expired.sum());
+        stats.put("avg_queue_wait_ms", done == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / done);
+        stats.put("avg_query_ms", done == 0 ? 0.0 : queryNanos.sum() / 1_000_000.0 / done);
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("slot.search.query", this, search -> search.completed.sum(),
+                        search -> search.queryNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time slot search queries ran on the search pool")
+                .register(registry);
+        FunctionTimer.builder("slot.search.queue.wait", this, search -> search.completed.sum(),
+                        search -> search.queueWaitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time slot searches waited for a search thread")
+                .register(registry);
+        FunctionCounter.builder("slot.search.rejected", this, search -> search.rejected.sum())
+                .tag("reason", "capacity")
+                .register(registry);
+        FunctionCounter.builder("slot.search.rejected", this, search -> search.expired.sum())
+                .tag("reason", "expired_in_queue")
+                .register(registry);
+        Gauge.builder("slot.search.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(registry);
+        Gauge.builder("slot.search.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
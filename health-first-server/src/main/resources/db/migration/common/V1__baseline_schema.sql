@@ -0,0 +1,124 @@
+-- Baseline: the schema Hibernate generated with ddl-auto: update before migrations were
+-- introduced, with constraints named. Tables added since then belong in later migrations.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate),
+-- so this script only runs against an empty schema.
+
+create table providers (
+    id bigserial not null,
+    uuid uuid not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(255) not null,
+    phone_number varchar(255) not null,
+    password_hash varchar(255) not null,
+    specialization varchar(100) not null,
+    license_number varchar(255) not null,
+    years_of_experience integer check ((years_of_experience >= 0) and (years_of_experience <= 50)),
+    clinic_street varchar(255) not null,
+    clinic_city varchar(255) not null,
+    clinic_state varchar(255) not null,
+    clinic_zip varchar(255) not null,
+    verification_status varchar(255) not null check (verification_status in ('PENDING','VERIFIED','REJECTED')),
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_providers_uuid unique (uuid),
+    constraint uk_providers_email unique (email),
+    constraint uk_providers_phone_number unique (phone_number),
+    constraint uk_providers_license_number unique (license_number)
+);
+
+create table patients (
+    id bigserial not null,
+    uuid uuid not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(255) not null,
+    phone_number varchar(255) not null,
+    password_hash varchar(255) not null,
+    date_of_birth date not null,
+    gender varchar(255) not null check (gender in ('MALE','FEMALE','OTHER','PREFER_NOT_TO_SAY')),
+    street varchar(255),
+    city varchar(255),
+    state varchar(255),
+    zip varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    relationship varchar(255),
+    provider varchar(255),
+    policy_number varchar(255),
+    email_verified boolean not null,
+    phone_verified boolean not null,
+    is_active boolean not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_patients_uuid unique (uuid),
+    constraint uk_patients_email unique (email),
+    constraint uk_patients_phone_number unique (phone_number)
+);
+
+create table patient_medical_history (
+    patient_id bigint not null,
+    medical_history varchar(255),
+    constraint fk_patient_medical_history_patient foreign key (patient_id) references patients (id)
+);
+
+create table provider_availability (
+    id bigserial not null,
+    uuid uuid not null,
+    provider_id bigint not null,
+    date date not null,
+    start_time time(6) not null,
+    end_time time(6) not null,
+    timezone varchar(255) not null,
+    slot_duration integer not null check ((slot_duration >= 15) and (slot_duration <= 480)),
+    break_duration integer not null check ((break_duration >= 0) and (break_duration <= 120)),
+    is_recurring boolean not null,
+    recurrence_pattern varchar(255) check (recurrence_pattern in ('DAILY','WEEKLY','MONTHLY')),
+    recurrence_end_date date,
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED','MAINTENANCE')),
+    max_appointments_per_slot integer not null check ((max_appointments_per_slot >= 1) and (max_appointments_per_slot <= 10)),
+    current_appointments integer not null check (current_appointments >= 0),
+    appointment_type varchar(255) not null check (appointment_type in ('CONSULTATION','FOLLOW_UP','EMERGENCY','TELEMEDICINE')),
+    location_type varchar(255) not null check (location_type in ('CLINIC','HOSPITAL','TELEMEDICINE','HOME_VISIT')),
+    location_address varchar(255),
+    room_number varchar(255),
+    base_fee numeric(10,2),
+    insurance_accepted boolean,
+    currency varchar(255),
+    notes text,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_provider_availability_uuid unique (uuid),
+    constraint fk_provider_availability_provider foreign key (provider_id) references providers (id)
+);
+
+create table provider_availability_special_requirements (
+    availability_id bigint not null,
+    requirement varchar(255),
+    constraint fk_special_requirements_availability foreign key (availability_id) references provider_availability (id)
+);
+
+create table appointment_slots (
+    id bigserial not null,
+    uuid uuid not null,
+    availability_id bigint not null,
+    provider_id bigint not null,
+    patient_id bigint,
+    slot_start_time timestamp(6) with time zone not null,
+    slot_end_time timestamp(6) with time zone not null,
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED')),
+    appointment_type varchar(255),
+    booking_reference varchar(255),
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_appointment_slots_uuid unique (uuid),
+    constraint uk_appointment_slots_booking_reference unique (booking_reference),
+    constraint fk_appointment_slots_availability foreign key (availability_id) references provider_availability (id),
+    constraint fk_appointment_slots_provider foreign key (provider_id) references providers (id),
+    constraint fk_appointment_slots_patient foreign key (patient_id) references patients (id)
+);
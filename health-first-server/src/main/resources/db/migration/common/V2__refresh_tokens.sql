@@ -0,0 +1,18 @@
+-- Refresh tokens (RefreshTokenService). Not part of the V1 baseline: databases created by
+-- ddl-auto before migrations were introduced are baselined at V1 and get the table here.
+
+create table if not exists refresh_tokens (
+    id bigserial not null,
+    token_hash varchar(64) not null,
+    family_id uuid not null,
+    subject_type varchar(255) not null check (subject_type in ('PROVIDER','PATIENT')),
+    subject_uuid uuid not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone,
+    replaced_by_hash varchar(64),
+    created_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+);
+
+create index if not exists idx_refresh_tokens_family on refresh_tokens (family_id);
@@ -0,0 +1,24 @@
+-- Indexes for the repository queries on the request path. PostgreSQL does not index foreign
+-- keys by itself, so every per-provider / per-availability / per-patient lookup was a scan.
+
+-- Superseded by the three-column index below (created by ddl-auto on older databases)
+drop index if exists idx_provider_availability_provider_date;
+
+-- findByProviderAndDateRange, findOverlappingSlots, findUpcomingSlots, countAvailableSlots...
+create index if not exists idx_provider_availability_provider_date_start
+    on provider_availability (provider_id, date, start_time);
+
+-- Slot regeneration / deletion per availability
+create index if not exists idx_appointment_slots_availability_id
+    on appointment_slots (availability_id);
+
+-- Per-provider slot windows (findByProviderAndTimeRange, findAvailableSlotsForProvider, upcoming)
+create index if not exists idx_appointment_slots_provider_start
+    on appointment_slots (provider_id, slot_start_time);
+
+-- Element collections, loaded by owner id whenever a patient or availability is read
+create index if not exists idx_patient_medical_history_patient
+    on patient_medical_history (patient_id);
+
+create index if not exists idx_special_requirements_availability
+    on provider_availability_special_requirements (availability_id);
@@ -0,0 +1,11 @@
+-- H2 has no partial indexes; same names and keys as the PostgreSQL migration, without the
+-- WHERE clause, so plans and the index-usage test line up.
+
+create index if not exists idx_appointment_slots_patient_start
+    on appointment_slots (patient_id, slot_start_time);
+
+create index if not exists idx_appointment_slots_available_start
+    on appointment_slots (status, slot_start_time);
+
+create index if not exists idx_provider_availability_available_date
+    on provider_availability (status, date);
@@ -0,0 +1,12 @@
+-- H2 has no range types or exclusion constraints: only the columns the entity maps are added.
+-- Overlaps are checked by a query before each write instead (availability.overlap-precheck).
+
+alter table provider_availability add column starts_at timestamp(6) with time zone;
+alter table provider_availability add column ends_at timestamp(6) with time zone;
+
+update provider_availability
+   set starts_at = (date + start_time) at time zone timezone,
+       ends_at = (date + end_time) at time zone timezone;
+
+alter table provider_availability alter column starts_at set not null;
+alter table provider_availability alter column ends_at set not null;
@@ -0,0 +1,16 @@
+-- Partial indexes: only the rows the queries can match are indexed, so they stay small.
+
+-- Patient appointment lists; most slots are never booked and have no patient
+create index if not exists idx_appointment_slots_patient_start
+    on appointment_slots (patient_id, slot_start_time)
+    where patient_id is not null;
+
+-- Open slot search (findAvailableSlots) across providers
+create index if not exists idx_appointment_slots_available_start
+    on appointment_slots (slot_start_time)
+    where status = 'AVAILABLE';
+
+-- Availability search and specialization listing only look at open, dated availability
+create index if not exists idx_provider_availability_available_date
+    on provider_availability (date)
+    where status = 'AVAILABLE';
@@ -0,0 +1,88 @@
+-- Overlapping availability for the same provider is rejected by the INSERT/UPDATE itself.
+-- starts_at / ends_at are the absolute bounds (date + time in the availability's timezone),
+-- written by the application; time_range is derived from them for the GiST exclusion constraint.
+--
+-- Existing rows may already overlap: the old check ran as a separate query, so two concurrent
+-- writes could both pass it, and it compared local times per date, so availabilities in different
+-- timezones could overlap in absolute time. The constraint cannot be added over such rows, so this
+-- migration fails first with the conflicting pairs listed (PostgreSQL rolls the whole migration
+-- back, leaving the schema as it was). To find them before upgrading:
+--
+--   select a.provider_id, a.uuid, a.date, a.start_time, a.end_time, a.timezone,
+--          b.uuid, b.date, b.start_time, b.end_time, b.timezone
+--     from provider_availability a
+--     join provider_availability b on b.provider_id = a.provider_id and b.id > a.id
+--    where tstzrange((a.date + a.start_time) at time zone a.timezone, (a.date + a.end_time) at time zone a.timezone, '[)')
+--       && tstzrange((b.date + b.start_time) at time zone b.timezone, (b.date + b.end_time) at time zone b.timezone, '[)');
+--
+-- Delete or reschedule one availability of each pair, then start the application again.
+-- DELETE /api/v1/provider/availability/{slot_id} on the previous version removes the availability
+-- with its appointment slots, booked ones included, so move any bookings first.
+
+-- Needed for the equality operator on provider_id inside a GiST index
+create extension if not exists btree_gist;
+
+alter table provider_availability add column starts_at timestamp(6) with time zone;
+alter table provider_availability add column ends_at timestamp(6) with time zone;
+
+update provider_availability
+   set starts_at = (date + start_time) at time zone timezone,
+       ends_at = (date + end_time) at time zone timezone;
+
+alter table provider_availability alter column starts_at set not null;
+alter table provider_availability alter column ends_at set not null;
+
+-- A range cannot end before it starts; report such rows rather than fail on the generated column
+do $$
+declare
+    inverted text;
+begin
+    select string_agg(format('availability %s (provider_id %s): %s to %s', uuid, provider_id, starts_at, ends_at), E'\n')
+      into inverted
+      from (select uuid, provider_id, starts_at, ends_at
+              from provider_availability
+             where ends_at < starts_at
+             order by provider_id, starts_at
+             limit 100) inverted_rows;
+
+    if inverted is not null then
+        raise exception 'provider_availability has rows that end before they start; fix them before upgrading'
+            using detail = inverted;
+    end if;
+end $$;
+
+alter table provider_availability
+    add column time_range tstzrange generated always as (tstzrange(starts_at, ends_at, '[)')) stored;
+
+do $$
+declare
+    conflict_count bigint;
+    conflicts text;
+begin
+    select count(*)
+      into conflict_count
+      from provider_availability a
+      join provider_availability b on b.provider_id = a.provider_id and b.id > a.id
+     where a.time_range && b.time_range;
+
+    if conflict_count > 0 then
+        select string_agg(format('provider_id %s: availability %s [%s, %s) overlaps %s [%s, %s)',
+                                 provider_id, a_uuid, a_starts_at, a_ends_at, b_uuid, b_starts_at, b_ends_at), E'\n')
+          into conflicts
+          from (select a.provider_id, a.uuid as a_uuid, a.starts_at as a_starts_at, a.ends_at as a_ends_at,
+                       b.uuid as b_uuid, b.starts_at as b_starts_at, b.ends_at as b_ends_at
+                  from provider_availability a
+                  join provider_availability b on b.provider_id = a.provider_id and b.id > a.id
+                 where a.time_range && b.time_range
+                 order by a.provider_id, a.starts_at
+                 limit 100) pairs;
+
+        raise exception '% pairs of overlapping provider_availability rows; delete or reschedule one of each pair before upgrading (see V5__availability_overlap_exclusion.sql)', conflict_count
+            using detail = conflicts;
+    end if;
+end $$;
+
+-- Half-open ranges: back-to-back availability (10:00-11:00, 11:00-12:00) does not overlap
+alter table provider_availability
+    add constraint ex_provider_availability_overlap
+    exclude using gist (provider_id with =, time_range with &&);
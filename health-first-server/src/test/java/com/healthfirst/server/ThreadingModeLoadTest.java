@@ -0,0 +1,114 @@
+package com.healthfirst.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Closed-loop load against a running server: each client sends its next request as soon as the
+// previous one answers. Opt-in; start the server once per threading mode and compare the output:
+//   java -jar target/health-first-server-0.0.1-SNAPSHOT.jar --spring.threads.virtual.enabled=false
+//   java -jar target/health-first-server-0.0.1-SNAPSHOT.jar --spring.threads.virtual.enabled=true   (Java 21)
+//   mvn test -Dtest=ThreadingModeLoadTest -Dloadtest=true \
+//       -Dloadtest.url='http://localhost:8081/api/v1/provider/availability/search?start_date=2025-03-01&end_date=2025-03-31' \
+//       -Dloadtest.authorization='Bearer ...' -Dloadtest.clients=1000 -Dloadtest.seconds=60
+// GET /api/health/virtual-threads on the server afterwards shows whether any request pinned its carrier.
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadingModeLoadTest {
+
+    @Test
+    void measureThroughputAndLatency() throws Exception {
+        URI uri = URI.create(System.getProperty("loadtest.url", "http://localhost:8081/api/health/status"));
+        String authorization = System.getProperty("loadtest.authorization");
+        int clients = Integer.getInteger("loadtest.clients", 1000);
+        long warmupNanos = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)).toNanos();
+        long measureNanos = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 60)).toNanos();
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        HttpRequest request = builder.build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+        Run run = new Run(httpClient, request, measureFrom, measureUntil);
+
+        List<CompletableFuture<Void>> loops = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            loops.add(run.loop());
+        }
+        CompletableFuture.allOf(loops.toArray(new CompletableFuture[0])).join();
+
+        long[] latencies = run.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = measureNanos / 1e9;
+        System.out.printf("Load test: %s, %d clients, %.0f s measured%n", uri, clients, seconds);
+        System.out.printf("  throughput: %,.0f req/s (%,d ok, %,d non-2xx, %,d failed)%n",
+                latencies.length / seconds, latencies.length, run.errors.sum(), run.failures.sum());
+        System.out.printf("  latency ms: p50 %.1f  p90 %.1f  p99 %.1f  max %.1f%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                percentile(latencies, 100));
+        assertTrue(latencies.length > 0, "No successful responses; check loadtest.url and loadtest.authorization");
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Run {
+        private final HttpClient httpClient;
+        private final HttpRequest request;
+        private final long measureFrom;
+        private final long measureUntil;
+
+        // Only responses that started inside the measured window are counted
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private Run(HttpClient httpClient, HttpRequest request, long measureFrom, long measureUntil) {
+            this.httpClient = httpClient;
+            this.request = request;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        private CompletableFuture<Void> loop() {
+            long sentAt = System.nanoTime();
+            if (sentAt >= measureUntil) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (sentAt >= measureFrom) {
+                            if (failure != null) {
+                                failures.increment();
+                            } else if (response.statusCode() / 100 != 2) {
+                                errors.increment();
+                            } else {
+                                latencies.add(System.nanoTime() - sentAt);
+                            }
+                        }
+                        return null;
+                    })
+                    .thenCompose(ignored -> loop());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.healthfirst.server.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.healthfirst.server.dto.ApiResponse;
+import com.healthfirst.server.dto.PageResponse;
+import com.healthfirst.server.dto.ProviderAvailabilityResponse;
+import com.healthfirst.server.dto.RawJson;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonConfigTest {
+
+    private final JacksonConfig jacksonConfig = new JacksonConfig();
+
+    @Test
+    void cborConverter_WritesSameFieldsAsJson() throws Exception {
+        // Arrange
+        ObjectMapper json = applicationBuilder().build();
+        ObjectMapper cbor = jacksonConfig.cborHttpMessageConverter(applicationBuilder(), ObservationRegistry.NOOP).getObjectMapper();
+        ApiResponse<PageResponse<ProviderAvailabilityResponse>> response = availabilityPage(20, null);
+
+        // Act
+        byte[] jsonBytes = json.writeValueAsBytes(response);
+        byte[] cborBytes = cbor.writeValueAsBytes(response);
+
+        // Assert
+        assertEquals(json.readTree(jsonBytes), cbor.readTree(cborBytes));
+        assertTrue(cborBytes.length < jsonBytes.length);
+    }
+
+    @Test
+    void cborConverter_WritesUuidsAsBinary() throws Exception {
+        // Arrange
+        ObjectMapper cbor = jacksonConfig.cborHttpMessageConverter(applicationBuilder(), ObservationRegistry.NOOP).getObjectMapper();
+        UUID uuid = UUID.randomUUID();
+
+        // Act
+        JsonNode tree = cbor.readTree(cbor.writeValueAsBytes(availabilityPage(1, uuid)));
+
+        // Assert
+        JsonNode node = tree.get("data").get("content").get(0).get("uuid");
+        assertTrue(node.isBinary());
+        assertEquals(uuid, cbor.treeToValue(node, UUID.class));
+    }
+
+    @Test
+    void smileConverter_KeepsApplicationDateFormat() throws Exception {
+        // Arrange
+        ObjectMapper smile = jacksonConfig.smileHttpMessageConverter(applicationBuilder(), ObservationRegistry.NOOP).getObjectMapper();
+
+        // Act
+        JsonNode tree = smile.readTree(smile.writeValueAsBytes(availabilityPage(1, UUID.randomUUID())));
+
+        // Assert
+        JsonNode slot = tree.get("data").get("content").get(0);
+        assertEquals("2025-03-14", slot.get("date").asText());
+        assertEquals("09:00:00", slot.get("startTime").asText());
+        assertEquals(1, tree.get("data").get("totalElements").asLong());
+    }
+
+    @Test
+    void binaryConverters_WriteCachedRawJson() throws Exception {
+        // Arrange: the patient profile endpoints answer with JSON cached as a string
+        ObjectMapper json = applicationBuilder().build();
+        ApiResponse<RawJson> response = ApiResponse.success("Patient retrieved successfully",
+                new RawJson("{\"uuid\":\"" + UUID.randomUUID() + "\",\"emailVerified\":true,\"tags\":[1,2.5,null]}"));
+        JsonNode expected = json.readTree(json.writeValueAsBytes(response));
+
+        for (ObjectMapper binary : List.of(
+                jacksonConfig.cborHttpMessageConverter(applicationBuilder(), ObservationRegistry.NOOP).getObjectMapper(),
+                jacksonConfig.smileHttpMessageConverter(applicationBuilder(), ObservationRegistry.NOOP).getObjectMapper())) {
+            // Act
+            JsonNode tree = binary.readTree(binary.writeValueAsBytes(response));
+
+            // Assert
+            assertEquals(expected, tree);
+        }
+    }
+
+    // What Spring Boot hands the converter beans: the builder with the application's Jackson settings
+    private static Jackson2ObjectMapperBuilder applicationBuilder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static ApiResponse<PageResponse<ProviderAvailabilityResponse>> availabilityPage(int rows, UUID uuid) {
+        List<ProviderAvailabilityResponse> slots = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            ProviderAvailabilityResponse slot = new ProviderAvailabilityResponse();
+            slot.setUuid(uuid);
+            slot.setProviderName("Dr. John Doe");
+            slot.setSpecialization("Cardiology");
+            slot.setDate(LocalDate.of(2025, 3, 14));
+            slot.setStartTime(LocalTime.of(9, 0));
+            slot.setEndTime(LocalTime.of(9, 30));
+            slot.setTimezone("America/New_York");
+            slot.setSlotDuration(30);
+            slots.add(slot);
+        }
+        return ApiResponse.success("Search completed successfully",
+                PageResponse.of(new PageImpl<>(slots, PageRequest.of(0, Math.max(rows, 1)), rows)));
+    }
+}
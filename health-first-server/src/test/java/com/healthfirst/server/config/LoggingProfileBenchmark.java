@@ -0,0 +1,163 @@
+package com.healthfirst.server.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// What one availability listing costs its request threads in log output, under each profile's
+// logging. The events are the ones the default profile writes for GET /api/v1/provider/{id}/availability:
+// Spring MVC's DEBUG lines and the three statements through Hibernate's own SqlStatementLogger, which
+// formats them and writes them to org.hibernate.SQL and, for show-sql, to stdout. The appenders and
+// levels mirror application.yaml/Boot's console output ("default") and application-prod.yaml with
+// logback-spring.xml ("prod"), writing to temp files instead of the console. Run through
+// LoggingProfileBenchmarkTest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingProfileBenchmark {
+
+    private static final String DEFAULT_CONFIG = """
+            <configuration>
+                <appender name="CONSOLE" class="ch.qos.logback.core.FileAppender">
+                    <file>${LOG_FILE}</file>
+                    <encoder>
+                        <pattern>%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [%t] %-40.40logger{39} : %m%n</pattern>
+                    </encoder>
+                </appender>
+                <logger name="com.healthfirst.server" level="DEBUG"/>
+                <logger name="org.springframework.web" level="DEBUG"/>
+                <logger name="org.hibernate.SQL" level="DEBUG"/>
+                <root level="INFO">
+                    <appender-ref ref="CONSOLE"/>
+                </root>
+            </configuration>
+            """;
+
+    private static final String PROD_CONFIG = """
+            <configuration>
+                <appender name="JSON" class="ch.qos.logback.core.FileAppender">
+                    <file>${LOG_FILE}</file>
+                    <encoder class="net.logstash.logback.encoder.LogstashEncoder"/>
+                </appender>
+                <appender name="ASYNC" class="ch.qos.logback.classic.AsyncAppender">
+                    <queueSize>8192</queueSize>
+                    <neverBlock>true</neverBlock>
+                    <appender-ref ref="JSON"/>
+                </appender>
+                <logger name="com.healthfirst.server" level="INFO"/>
+                <logger name="org.springframework.web" level="INFO"/>
+                <logger name="org.hibernate.SQL" level="INFO"/>
+                <root level="INFO">
+                    <appender-ref ref="ASYNC"/>
+                </root>
+            </configuration>
+            """;
+
+    private static final String PATH = "/api/v1/provider/01a15305-bbdc-74ea-921b-0eddb5013246/availability";
+
+    private static final String[] STATEMENTS = {
+            "select p1_0.updated_at,max(pa1_0.updated_at),count(pa1_0.id) from providers p1_0 left join "
+                    + "provider_availability pa1_0 on pa1_0.provider_id=p1_0.id and pa1_0.date between ? and ? "
+                    + "where p1_0.id=? group by p1_0.id,p1_0.updated_at",
+            "select pa1_0.id,pa1_0.appointment_type,pa1_0.break_duration,pa1_0.created_at,"
+                    + "pa1_0.current_appointments,pa1_0.date,pa1_0.end_time,pa1_0.ends_at,pa1_0.is_recurring,"
+                    + "pa1_0.location_address,pa1_0.room_number,pa1_0.location_type,pa1_0.max_appointments_per_slot,"
+                    + "pa1_0.notes,pa1_0.base_fee,pa1_0.currency,pa1_0.insurance_accepted,pa1_0.provider_id,"
+                    + "pa1_0.recurrence_end_date,pa1_0.recurrence_pattern,pa1_0.slot_duration,pa1_0.start_time,"
+                    + "pa1_0.starts_at,pa1_0.status,pa1_0.timezone,pa1_0.updated_at,pa1_0.uuid from "
+                    + "provider_availability pa1_0 where pa1_0.provider_id=? and pa1_0.date between ? and ? and "
+                    + "(? is null or pa1_0.status=?) and (? is null or pa1_0.appointment_type=?) "
+                    + "offset ? rows fetch first ? rows only",
+            "select sr1_0.availability_id,sr1_0.requirement from provider_availability_special_requirements sr1_0 "
+                    + "where sr1_0.availability_id=?"
+    };
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private final Logger dispatcher = LoggerFactory.getLogger("org.springframework.web.servlet.DispatcherServlet");
+    private final Logger handlerMapping = LoggerFactory.getLogger(
+            "org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping");
+    private final Logger asyncManager = LoggerFactory.getLogger("org.springframework.web.context.request.async.WebAsyncManager");
+    private final Logger entityProcessor = LoggerFactory.getLogger(
+            "org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor");
+
+    private SqlStatementLogger sqlStatementLogger;
+    private PrintStream stdout;
+    private Path logFile;
+    private Path stdoutFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        boolean prod = "prod".equals(profile);
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        stdoutFile = Files.createTempFile("logging-benchmark", ".out");
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.putProperty("LOG_FILE", logFile.toString());
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(new ByteArrayInputStream(
+                (prod ? PROD_CONFIG : DEFAULT_CONFIG).getBytes(StandardCharsets.UTF_8)));
+
+        // spring.jpa.show-sql and hibernate.format_sql
+        sqlStatementLogger = new SqlStatementLogger(!prod, !prod, false, 0);
+        stdout = System.out;
+        System.setOut(new PrintStream(new FileOutputStream(stdoutFile.toFile()), true));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        System.out.close();
+        System.setOut(stdout);
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(stdoutFile);
+    }
+
+    @Benchmark
+    public void availabilityListing() {
+        dispatcher.debug("GET \"{}?start_date=2026-11-01&end_date=2026-11-30\", parameters={}", PATH, "masked");
+        handlerMapping.debug("Mapped to {}", "com.healthfirst.server.controller.ProviderAvailabilityController"
+                + "#getProviderAvailability(UUID, LocalDate, LocalDate, String, String, int, int, boolean, WebRequest)");
+        asyncManager.debug("Started async request");
+        dispatcher.debug("Exiting but response remains open for further handling");
+        for (String statement : STATEMENTS) {
+            sqlStatementLogger.logStatement(statement);
+        }
+        asyncManager.debug("Async result set, dispatch to {}", PATH);
+        dispatcher.debug("\"ASYNC\" dispatch for GET \"{}\", parameters={}", PATH, "masked");
+        entityProcessor.debug("Using 'application/json', given [*/*] and supported [application/json, application/cbor, "
+                + "application/x-jackson-smile]");
+        entityProcessor.debug("Writing [{}]", "com.healthfirst.server.dto.ApiResponse@7a574c5f");
+        dispatcher.debug("Exiting from \"ASYNC\" dispatch, status {}", 200);
+    }
+}
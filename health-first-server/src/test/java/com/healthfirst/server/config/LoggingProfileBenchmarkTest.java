@@ -0,0 +1,28 @@
+package com.healthfirst.server.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Request-equivalents of log output per second under the default and prod logging. Opt-in:
+//   mvn test -Dtest=LoggingProfileBenchmarkTest -Dbenchmark=true
+// For the end-to-end difference, run ThreadingModeLoadTest against the server started with and
+// without --spring.profiles.active=prod.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoggingProfileBenchmarkTest {
+
+    @Test
+    void compareProfiles() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(LoggingProfileBenchmark.class.getName())
+                .jvmArgsAppend("-Xms512m", "-Xmx512m")
+                .build()).run();
+        assertFalse(results.isEmpty());
+    }
+}
@@ -0,0 +1,154 @@
+package com.healthfirst.server.config;
+
+import com.healthfirst.server.controller.StatementBudget;
+import com.healthfirst.server.exception.StatementBudgetExceededException;
+import io.micrometer.common.KeyValue;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class RequestSqlStatisticsTest {
+
+    private static final String URI = "/api/v1/provider/{provider_id}/availability";
+
+    private MeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/v1/provider/1/availability");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void afterCompletion_RecordsStatementsAndTimePerUri() {
+        // Arrange
+        RequestSqlStatistics statistics = new RequestSqlStatistics(meterRegistry, 20, false);
+
+        // Act
+        statistics.preHandle(request, response, null);
+        statistics.afterQuery(statement(3), List.of(new QueryInfo("select 1")));
+        statistics.afterQuery(statement(4), List.of(new QueryInfo("select 2")));
+        statistics.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("http.server.requests.db.statements").tag("uri", URI).summary().totalAmount());
+        assertEquals(7.0, meterRegistry.get("http.server.requests.db.time").tag("uri", URI).timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+        assertEquals("2", spanValue(RequestSqlStatistics.STATEMENT_COUNT));
+        assertEquals("7", spanValue(RequestSqlStatistics.STATEMENT_TIME));
+    }
+
+    @Test
+    void afterQuery_CountsStatementsRunOnAnotherThread() {
+        // Arrange
+        RequestSqlStatistics statistics = new RequestSqlStatistics(meterRegistry, 20, false);
+        statistics.preHandle(request, response, null);
+        ContextSnapshot context = ContextSnapshotFactory.builder().build().captureAll();
+        statistics.afterConcurrentHandlingStarted(request, response, null);
+
+        // Act: the slot search pool, then the async dispatch
+        CompletableFuture.runAsync(context.wrap(() ->
+                statistics.afterQuery(statement(1), List.of(new QueryInfo("select 1"))))).join();
+        statistics.preHandle(request, response, null);
+        statistics.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals("1", spanValue(RequestSqlStatistics.STATEMENT_COUNT));
+    }
+
+    @Test
+    void afterQuery_ThrowsPastBudgetWhenEnforced() {
+        // Arrange
+        RequestSqlStatistics statistics = new RequestSqlStatistics(meterRegistry, 2, true);
+        statistics.preHandle(request, response, null);
+        statistics.afterQuery(statement(1), List.of(new QueryInfo("select 1")));
+        statistics.afterQuery(statement(1), List.of(new QueryInfo("select 1")));
+
+        // Act
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> statistics.afterQuery(statement(1), List.of(new QueryInfo("select 1"))));
+        statistics.afterCompletion(request, response, null, exception);
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Statement 3 exceeds the request's budget of 2"));
+        assertTrue(exception.getMessage().contains("RequestSqlStatisticsTest."));
+    }
+
+    @Test
+    void afterCompletion_LogsCallSitesPastBudget(CapturedOutput output) {
+        // Arrange
+        RequestSqlStatistics statistics = new RequestSqlStatistics(meterRegistry, 2, false);
+
+        // Act
+        statistics.preHandle(request, response, null);
+        for (int i = 0; i < 5; i++) {
+            statistics.afterQuery(statement(1), List.of(new QueryInfo("select 1")));
+        }
+        statistics.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertTrue(output.getOut().contains("GET " + URI + " ran 5 statements, over its budget of 2"));
+        assertTrue(output.getOut().contains("3x RequestSqlStatisticsTest.afterCompletion_LogsCallSitesPastBudget"));
+    }
+
+    @Test
+    void preHandle_UsesHandlerBudget() throws Exception {
+        // Arrange
+        RequestSqlStatistics statistics = new RequestSqlStatistics(meterRegistry, 1, true);
+        HandlerMethod handler = new HandlerMethod(new ImportController(), ImportController.class.getMethod("importRows"));
+
+        // Act
+        statistics.preHandle(request, response, handler);
+        for (int i = 0; i < 10; i++) {
+            statistics.afterQuery(statement(1), List.of(new QueryInfo("insert into patients values (?)")));
+        }
+        statistics.afterCompletion(request, response, handler, null);
+
+        // Assert
+        assertEquals("10", spanValue(RequestSqlStatistics.STATEMENT_COUNT));
+    }
+
+    private String spanValue(String key) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, response);
+        KeyValue keyValue = RequestSqlStatistics.addToRequestSpan(context).getHighCardinalityKeyValue(key);
+        return keyValue != null ? keyValue.getValue() : null;
+    }
+
+    private static ExecutionInfo statement(long elapsedMillis) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMillis);
+        info.setSuccess(true);
+        return info;
+    }
+
+    static class ImportController {
+
+        @StatementBudget(0)
+        public void importRows() {
+        }
+    }
+}
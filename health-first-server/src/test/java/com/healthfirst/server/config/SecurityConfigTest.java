@@ -0,0 +1,192 @@
+package com.healthfirst.server.config;
+
+import com.healthfirst.server.dto.BulkStatusUpdateRequest;
+import com.healthfirst.server.entity.Patient;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.service.AuthService;
+import com.healthfirst.server.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The role rules of the real filter chain, with tokens signed by JwtService. The accounts behind
+// the tokens are never saved: a request that passes authorization ends in 404, not 403.
+@SpringBootTest(properties = "jwt.admin-emails=" + SecurityConfigTest.ADMIN_EMAIL)
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    static final String ADMIN_EMAIL = "admin@clinic.com";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private AuthService authService;
+
+    private MockMvc mockMvc;
+    private UUID patientUuid;
+    private String patientToken;
+    private String providerToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+
+        Patient patient = new Patient();
+        patient.setUuid(UUID.randomUUID());
+        patient.setEmail("patient." + patient.getUuid() + "@email.com");
+        patient.setEmailVerified(true);
+        patient.setPhoneVerified(true);
+        patientUuid = patient.getUuid();
+        patientToken = "Bearer " + jwtService.generateToken(patient);
+
+        Provider provider = new Provider();
+        provider.setUuid(UUID.randomUUID());
+        provider.setEmail("provider." + provider.getUuid() + "@clinic.com");
+        provider.setSpecialization("Cardiology");
+        provider.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
+        providerToken = "Bearer " + jwtService.generateToken(provider);
+
+        provider.setEmail(ADMIN_EMAIL);
+        adminToken = "Bearer " + jwtService.generateToken(provider);
+    }
+
+    @Test
+    void patientToken_CannotWriteProviders() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/provider/{uuid}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, patientToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/v1/provider/{uuid}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/v1/provider/availability/{slot_id}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void providerToken_CanWriteProviders() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/provider/{uuid}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, providerToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patientToken_ReachesOnlyOwnProfile() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/patient/{uuid}", patientUuid)
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/patient/{uuid}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/patient/email/{email}", "someone.else@email.com")
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/v1/patient/{uuid}/verify-email", patientUuid)
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/patient/list")
+                        .header(HttpHeaders.AUTHORIZATION, patientToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void providerToken_ReachesAnyPatient() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/patient/{uuid}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, providerToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void import_RequiresAdmin() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/provider/import")
+                        .header(HttpHeaders.AUTHORIZATION, providerToken)
+                        .contentType("text/plain")
+                        .content("x"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/patient/import")
+                        .header(HttpHeaders.AUTHORIZATION, patientToken)
+                        .contentType("text/plain")
+                        .content("x"))
+                .andExpect(status().isForbidden());
+        // An empty file imports nothing
+        mockMvc.perform(post("/api/v1/provider/import")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType("application/x-ndjson")
+                        .content(""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bulkStatusUpdate_RequiresAdmin() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/v1/provider/bulk/deactivate")
+                        .header(HttpHeaders.AUTHORIZATION, providerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(uuids(1)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/v1/patient/bulk/verify-email")
+                        .header(HttpHeaders.AUTHORIZATION, patientToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(uuids(1)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/v1/provider/bulk/deactivate")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(uuids(1)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void bulkStatusUpdate_CapsUuidList() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/v1/patient/bulk/deactivate")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(uuids(BulkStatusUpdateRequest.MAX_UUIDS + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void loggedOutToken_IsRejected() throws Exception {
+        // Arrange
+        authService.logout(providerToken);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/provider/{uuid}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, providerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private static String uuids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count)
+                .map(uuid -> "\"" + uuid + "\"")
+                .collect(Collectors.joining(",", "{\"uuids\":[", "]}"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.healthfirst.server.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggerTest {
+
+    private static final String SQL = "select p1_0.id from patients p1_0 where p1_0.email=?";
+
+    @Test
+    void afterQuery_LogsSlowStatementWithoutBindValues(CapturedOutput output) throws Exception {
+        // Arrange
+        SlowQueryLogger logger = new SlowQueryLogger(200, 60);
+        QueryInfo query = new QueryInfo(SQL);
+        query.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[]{1, "jane.smith@email.com"})));
+
+        // Act
+        logger.afterQuery(execution(250), List.of(query));
+
+        // Assert
+        assertTrue(output.getOut().contains("Slow statement took 250 ms"));
+        assertTrue(output.getOut().contains(SQL));
+        assertFalse(output.getOut().contains("jane.smith@email.com"));
+    }
+
+    @Test
+    void afterQuery_IgnoresStatementsUnderThreshold(CapturedOutput output) {
+        // Arrange
+        SlowQueryLogger logger = new SlowQueryLogger(200, 60);
+
+        // Act
+        logger.afterQuery(execution(199), List.of(new QueryInfo(SQL)));
+
+        // Assert
+        assertFalse(output.getOut().contains("Slow statement"));
+    }
+
+    @Test
+    void afterQuery_CapsLinesPerMinute(CapturedOutput output) {
+        // Arrange
+        SlowQueryLogger logger = new SlowQueryLogger(200, 2);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            logger.afterQuery(execution(300), List.of(new QueryInfo(SQL)));
+        }
+
+        // Assert
+        assertEquals(2, output.getOut().split("Slow statement took", -1).length - 1);
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMillis);
+        info.setSuccess(true);
+        return info;
+    }
+}
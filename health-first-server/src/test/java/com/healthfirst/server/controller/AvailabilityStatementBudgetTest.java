@@ -0,0 +1,123 @@
+package com.healthfirst.server.controller;
+
+import com.healthfirst.server.dto.ProviderAvailabilityRequest;
+import com.healthfirst.server.dto.ProviderAvailabilityResponse;
+import com.healthfirst.server.entity.ClinicAddress;
+import com.healthfirst.server.entity.Location;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.entity.ProviderAvailability;
+import com.healthfirst.server.repository.ProviderRepository;
+import com.healthfirst.server.service.ProviderAvailabilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Availability listings must run a fixed number of statements whatever the page size. The budget
+// here is below one statement per row, so loading the provider or the special requirements row by
+// row (the response reads both lazily) fails the request with StatementBudgetExceededException.
+// Not @Transactional: the listing runs its queries on the slot search pool, outside the test's
+// transaction, so the rows are committed and removed afterwards.
+@SpringBootTest(properties = "statement-budget.max-per-request=6")
+@ActiveProfiles("test")
+class AvailabilityStatementBudgetTest {
+
+    private static final int ROWS = 10;
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+
+    private MockMvc mockMvc;
+    private Provider provider;
+    private final List<UUID> availabilityIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        provider = new Provider();
+        provider.setFirstName("Budget");
+        provider.setLastName("Provider");
+        provider.setEmail("budget." + UUID.randomUUID() + "@clinic.com");
+        provider.setPhoneNumber("+1" + (5550000000L + (long) (Math.random() * 999999)));
+        provider.setPasswordHash("not-used");
+        provider.setSpecialization("Cardiology");
+        provider.setLicenseNumber("BUDGET" + System.nanoTime() % 1000000000);
+        provider.setYearsOfExperience(5);
+        provider.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
+        provider.setIsActive(true);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Test St");
+        address.setCity("Test City");
+        address.setState("TS");
+        address.setZip("12345");
+        provider.setClinicAddress(address);
+        provider = providerRepository.save(provider);
+
+        for (int i = 0; i < ROWS; i++) {
+            ProviderAvailabilityResponse created = availabilityService.createAvailability(provider.getUuid(), availability(FIRST_DAY.plusDays(i)));
+            availabilityIds.add(created.getUuid());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityIds.forEach(uuid -> availabilityService.deleteAvailability(uuid, false, "test cleanup"));
+        providerRepository.delete(provider);
+    }
+
+    @Test
+    void getProviderAvailability_StaysWithinStatementBudget() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/v1/provider/{provider_id}/availability", provider.getUuid())
+                        .param("start_date", FIRST_DAY.toString())
+                        .param("end_date", FIRST_DAY.plusDays(ROWS).toString())
+                        .param("size", String.valueOf(ROWS)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(ROWS))
+                .andExpect(jsonPath("$.data.content[0].specialRequirements[0]").value("Fasting required"))
+                .andExpect(jsonPath("$.data.content[0].providerName").value("Budget Provider"));
+    }
+
+    private static ProviderAvailabilityRequest availability(LocalDate date) {
+        ProviderAvailabilityRequest request = new ProviderAvailabilityRequest();
+        request.setDate(date);
+        request.setStartTime("09:00");
+        request.setEndTime("10:00");
+        request.setTimezone("America/New_York");
+        request.setAppointmentType(ProviderAvailability.AppointmentType.CONSULTATION);
+        ProviderAvailabilityRequest.LocationRequest location = new ProviderAvailabilityRequest.LocationRequest();
+        location.setType(Location.LocationType.CLINIC);
+        location.setAddress("123 Test St");
+        request.setLocation(location);
+        request.setSpecialRequirements(List.of("Fasting required"));
+        return request;
+    }
+}
@@ -0,0 +1,40 @@
+package com.healthfirst.server.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void weak_SameVersion_SameTag() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+        String tag = ETags.weak("provider", "a", updatedAt);
+
+        assertTrue(tag.startsWith("W/\"") && tag.endsWith("\""));
+        assertEquals(tag, ETags.weak("provider", "a", updatedAt));
+        assertNotEquals(tag, ETags.weak("provider", "a", updatedAt.plusNanos(1000)));
+    }
+
+    @Test
+    void matches_UsesWeakComparisonAcrossList() {
+        String tag = ETags.weak("specializations", "Cardiology");
+        String strongForm = tag.substring(2);
+
+        assertTrue(ETags.matches(tag, tag));
+        assertTrue(ETags.matches("\"other\", " + strongForm, tag));
+        assertTrue(ETags.matches("*", tag));
+    }
+
+    @Test
+    void matches_NoOrDifferentHeader_IsFalse() {
+        String tag = ETags.weak("specializations", "Cardiology");
+
+        assertFalse(ETags.matches(null, tag));
+        assertFalse(ETags.matches("", tag));
+        assertFalse(ETags.matches(ETags.weak("specializations", "Dermatology"), tag));
+    }
+}
@@ -0,0 +1,61 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResponseTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void countedPage_WritesTotalsAndNextPage() throws Exception {
+        PageResponse<String> page = PageResponse.of(new PageImpl<>(List.of("a", "b"), PageRequest.of(1, 2), 7));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page));
+
+        assertEquals(List.of("content", "page", "size", "hasNext", "nextPage", "totalElements", "totalPages"),
+                fieldNames(json));
+        assertEquals("b", json.get("content").get(1).asText());
+        assertEquals(2, json.get("nextPage").asInt());
+        assertEquals(7, json.get("totalElements").asLong());
+        assertEquals(4, json.get("totalPages").asInt());
+    }
+
+    @Test
+    void slice_OmitsTotals() throws Exception {
+        PageResponse<String> page = PageResponse.of(new SliceImpl<>(List.of("a"), PageRequest.of(0, 1), true));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page));
+
+        assertEquals(List.of("content", "page", "size", "hasNext", "nextPage"), fieldNames(json));
+        assertTrue(json.get("hasNext").asBoolean());
+        assertNull(page.getTotalElements());
+    }
+
+    @Test
+    void lastPage_OmitsNextPage() throws Exception {
+        PageResponse<String> page = PageResponse.of(new SliceImpl<>(List.of("a"), PageRequest.of(3, 10), false));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(ApiResponse.success("OK", page)));
+
+        assertFalse(json.get("data").get("hasNext").asBoolean());
+        assertFalse(json.get("data").has("nextPage"));
+        assertEquals(3, json.get("data").get("page").asInt());
+    }
+
+    private static List<String> fieldNames(JsonNode json) {
+        List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
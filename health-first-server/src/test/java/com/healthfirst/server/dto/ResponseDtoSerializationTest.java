@@ -0,0 +1,73 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.healthfirst.server.entity.Provider;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The record payloads must keep the field names clients already read from the old map payloads
+class ResponseDtoSerializationTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+
+    @Test
+    void availabilityCreationResult_UsesSnakeCaseFields() {
+        UUID availabilityId = UUID.randomUUID();
+        JsonNode json = objectMapper.valueToTree(new AvailabilityCreationResult(availabilityId, UUID.randomUUID(),
+                "John Doe", LocalDate.of(2025, 3, 14), LocalTime.of(9, 0), LocalTime.of(17, 0)));
+
+        assertEquals(List.of("availability_id", "provider_id", "provider_name", "date", "start_time", "end_time"),
+                fieldNames(json));
+        assertEquals(availabilityId.toString(), json.get("availability_id").asText());
+        assertEquals("2025-03-14", json.get("date").asText());
+        assertEquals("09:00:00", json.get("start_time").asText());
+    }
+
+    @Test
+    void providerStatsResponse_UsesSnakeCaseFields() {
+        JsonNode json = objectMapper.valueToTree(new ProviderStatsResponse(12, 10, 2, 3, 8, 1));
+
+        assertEquals(List.of("total_providers", "active_providers", "inactive_providers", "pending_verification",
+                "verified_providers", "rejected_providers"), fieldNames(json));
+        assertEquals(12, json.get("total_providers").asLong());
+    }
+
+    @Test
+    void currentProviderResponse_KeepsCamelCaseFields() {
+        JsonNode json = objectMapper.valueToTree(new CurrentProviderResponse(UUID.randomUUID(), "john.doe@clinic.com",
+                "John", "Doe", "Cardiology", Provider.VerificationStatus.VERIFIED, true));
+
+        assertEquals(List.of("uuid", "email", "firstName", "lastName", "specialization", "verificationStatus",
+                "isActive"), fieldNames(json));
+        assertEquals("VERIFIED", json.get("verificationStatus").asText());
+        assertTrue(json.get("isActive").asBoolean());
+    }
+
+    @Test
+    void tokenValidationResponse_InvalidToken_OnlyCarriesValidFlag() {
+        JsonNode json = objectMapper.valueToTree(TokenValidationResponse.invalid());
+
+        assertEquals(List.of("valid"), fieldNames(json));
+        assertFalse(json.get("valid").asBoolean());
+    }
+
+    private static List<String> fieldNames(JsonNode json) {
+        List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,174 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.healthfirst.server.entity.ClinicAddress;
+import com.healthfirst.server.entity.Location;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.entity.ProviderAvailability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encodes one page of a bulk listing the way the server answers it: the ApiResponse envelope written
+// as JSON, CBOR or Smile, then optionally gzipped like Tomcat's compression does (default deflate
+// level). Time per response is the CPU cost; encodedSize gives the bytes on the wire for the same
+// combination. Run through ResponseEncodingBenchmarkTest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"provider_list", "availability_search"})
+    public String listing;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    @Param({"100"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private Object response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = mapper(format);
+        response = response(listing, rows);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return encode(objectMapper, response, "gzip".equals(compression));
+    }
+
+    // Bytes one response takes on the wire
+    public static int encodedSize(String listing, String format, boolean gzip, int rows) throws IOException {
+        return encode(mapper(format), response(listing, rows), gzip).length;
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, Object response, boolean gzip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            objectMapper.writeValue(out, response);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Configured like the application's converters (see JacksonConfig)
+    private static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule());
+        return switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private static Object response(String listing, int rows) {
+        return switch (listing) {
+            case "provider_list" -> ApiResponse.success("All providers retrieved successfully", providers(rows));
+            case "availability_search" -> ApiResponse.success("Search completed successfully",
+                    PageResponse.of(new PageImpl<>(availability(rows), PageRequest.of(0, rows), rows * 12L)));
+            default -> throw new IllegalArgumentException("Unknown listing: " + listing);
+        };
+    }
+
+    private static List<ProviderResponse> providers(int rows) {
+        String[] specializations = {"Cardiology", "Dermatology", "Pediatrics", "Neurology", "Orthopedics"};
+        List<ProviderResponse> providers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ProviderResponse provider = new ProviderResponse();
+            provider.setUuid(UUID.randomUUID());
+            provider.setFirstName("John" + i);
+            provider.setLastName("Doe");
+            provider.setEmail("john.doe" + i + "@clinic.com");
+            provider.setPhoneNumber("+1555" + String.format("%07d", i));
+            provider.setSpecialization(specializations[i % specializations.length]);
+            provider.setLicenseNumber("MD" + (100000 + i));
+            provider.setYearsOfExperience(5 + i % 30);
+            provider.setClinicAddress(new ClinicAddress(i + " Main Street", "Springfield", "IL", "62701"));
+            provider.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
+            provider.setIsActive(true);
+            provider.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(i));
+            provider.setUpdatedAt(LocalDateTime.of(2025, 2, 1, 9, 0).plusMinutes(i));
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    private static List<ProviderAvailabilityResponse> availability(int rows) {
+        List<ProviderAvailabilityResponse> slots = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ProviderAvailabilityResponse slot = new ProviderAvailabilityResponse();
+            slot.setUuid(UUID.randomUUID());
+            slot.setProviderId(UUID.randomUUID());
+            slot.setProviderName("John" + i + " Doe");
+            slot.setSpecialization("Cardiology");
+            slot.setDate(LocalDate.of(2025, 3, 1).plusDays(i % 28));
+            slot.setStartTime(LocalTime.of(9, 0).plusMinutes(30L * (i % 16)));
+            slot.setEndTime(LocalTime.of(9, 30).plusMinutes(30L * (i % 16)));
+            slot.setTimezone("America/New_York");
+            slot.setIsRecurring(false);
+            slot.setSlotDuration(30);
+            slot.setBreakDuration(0);
+            slot.setStatus(ProviderAvailability.AvailabilityStatus.AVAILABLE);
+            slot.setMaxAppointmentsPerSlot(1);
+            slot.setCurrentAppointments(0);
+            slot.setAppointmentType(ProviderAvailability.AppointmentType.CONSULTATION);
+            ProviderAvailabilityResponse.LocationResponse location = new ProviderAvailabilityResponse.LocationResponse();
+            location.setType(Location.LocationType.CLINIC);
+            location.setAddress("123 Medical Center Dr, Springfield, IL");
+            location.setRoomNumber("Room " + (100 + i % 20));
+            slot.setLocation(location);
+            ProviderAvailabilityResponse.PricingResponse pricing = new ProviderAvailabilityResponse.PricingResponse();
+            pricing.setBaseFee(new BigDecimal("150.00"));
+            pricing.setInsuranceAccepted(true);
+            pricing.setCurrency("USD");
+            slot.setPricing(pricing);
+            slot.setSpecialRequirements(List.of("fasting_required"));
+            slot.setCreatedAt(ZonedDateTime.of(2025, 2, 1, 9, 0, 0, 0, ZoneOffset.UTC).plusMinutes(i));
+            slot.setUpdatedAt(ZonedDateTime.of(2025, 2, 1, 9, 0, 0, 0, ZoneOffset.UTC).plusMinutes(i));
+            slots.add(slot);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,45 @@
+package com.healthfirst.server.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Prints the payload size of every listing/format/compression combination, then times them under
+// JMH. Opt-in, it takes a few minutes:
+//   mvn test -Dtest=ResponseEncodingBenchmarkTest -Dbenchmark=true
+// Narrow it down with -Dbenchmark.listing=availability_search and change the page with -Dbenchmark.rows=20
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResponseEncodingBenchmarkTest {
+
+    @Test
+    void compareEncodings() throws Exception {
+        String listing = System.getProperty("benchmark.listing");
+        int rows = Integer.getInteger("benchmark.rows", 100);
+
+        for (String name : listing != null ? new String[]{listing} : new String[]{"provider_list", "availability_search"}) {
+            System.out.printf("%s, %d rows: bytes per response%n", name, rows);
+            for (String format : new String[]{"json", "cbor", "smile"}) {
+                System.out.printf("  %-6s %,9d plain %,9d gzip%n", format,
+                        ResponseEncodingBenchmark.encodedSize(name, format, false, rows),
+                        ResponseEncodingBenchmark.encodedSize(name, format, true, rows));
+            }
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(ResponseEncodingBenchmark.class.getName())
+                .jvmArgsAppend("-Xms512m", "-Xmx512m")
+                .param("rows", String.valueOf(rows));
+        if (listing != null) {
+            options.param("listing", listing);
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+        assertFalse(results.isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package com.healthfirst.server.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.healthfirst.server.entity.Provider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Builds and serializes each endpoint's ApiResponse envelope the way a request does, once with the
+// old per-request HashMap payload and once with the record DTO, on a mapper configured like the
+// application's with and without Blackbird. Run through ResponseSerializationBenchmarkTest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"register_patient", "register_provider", "create_availability", "current_provider",
+            "validate_token", "provider_stats"})
+    public String endpoint;
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private Supplier<Object> mapPayload;
+    private Supplier<Object> recordPayload;
+
+    private final UUID uuid = UUID.randomUUID();
+    private final UUID providerUuid = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(mapper)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        switch (endpoint) {
+            case "register_patient" -> {
+                mapPayload = () -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("patient_id", uuid);
+                    data.put("email", "jane.smith@email.com");
+                    data.put("phone_number", "+1234567890");
+                    data.put("email_verified", false);
+                    data.put("phone_verified", false);
+                    return data;
+                };
+                recordPayload = () -> new PatientRegistrationResult(uuid, "jane.smith@email.com", "+1234567890",
+                        false, false);
+            }
+            case "register_provider" -> {
+                mapPayload = () -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("provider_id", providerUuid);
+                    data.put("email", "john.doe@clinic.com");
+                    data.put("verification_status", Provider.VerificationStatus.PENDING);
+                    return data;
+                };
+                recordPayload = () -> new ProviderRegistrationResult(providerUuid, "john.doe@clinic.com",
+                        Provider.VerificationStatus.PENDING);
+            }
+            case "create_availability" -> {
+                LocalDate date = LocalDate.of(2025, 3, 14);
+                LocalTime start = LocalTime.of(9, 0);
+                LocalTime end = LocalTime.of(17, 0);
+                mapPayload = () -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("availability_id", uuid);
+                    data.put("provider_id", providerUuid);
+                    data.put("provider_name", "John Doe");
+                    data.put("date", date);
+                    data.put("start_time", start);
+                    data.put("end_time", end);
+                    return data;
+                };
+                recordPayload = () -> new AvailabilityCreationResult(uuid, providerUuid, "John Doe", date, start, end);
+            }
+            case "current_provider" -> {
+                mapPayload = () -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("uuid", providerUuid);
+                    data.put("email", "john.doe@clinic.com");
+                    data.put("firstName", "John");
+                    data.put("lastName", "Doe");
+                    data.put("specialization", "Cardiology");
+                    data.put("verificationStatus", Provider.VerificationStatus.VERIFIED);
+                    data.put("isActive", true);
+                    return data;
+                };
+                recordPayload = () -> new CurrentProviderResponse(providerUuid, "john.doe@clinic.com", "John", "Doe",
+                        "Cardiology", Provider.VerificationStatus.VERIFIED, true);
+            }
+            case "validate_token" -> {
+                mapPayload = () -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("valid", true);
+                    data.put("email", "john.doe@clinic.com");
+                    data.put("role", "PROVIDER");
+                    data.put("specialization", "Cardiology");
+                    data.put("verificationStatus", "VERIFIED");
+                    return data;
+                };
+                recordPayload = () -> new TokenValidationResponse(true, "john.doe@clinic.com", "PROVIDER",
+                        "Cardiology", "VERIFIED");
+            }
+            case "provider_stats" -> {
+                mapPayload = () -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("total_providers", 1200L);
+                    data.put("active_providers", 1100L);
+                    data.put("inactive_providers", 100L);
+                    data.put("pending_verification", 40L);
+                    data.put("verified_providers", 1150L);
+                    data.put("rejected_providers", 10L);
+                    return data;
+                };
+                recordPayload = () -> new ProviderStatsResponse(1200L, 1100L, 100L, 40L, 1150L, 10L);
+            }
+            default -> throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+    }
+
+    @Benchmark
+    public byte[] hashMapPayload() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("OK", mapPayload.get()));
+    }
+
+    @Benchmark
+    public byte[] recordPayload() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("OK", recordPayload.get()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.healthfirst.server.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Runs ResponseSerializationBenchmark under JMH. Opt-in, it takes a few minutes:
+//   mvn test -Dtest=ResponseSerializationBenchmarkTest -Dbenchmark=true
+// Narrow it down with -Dbenchmark.endpoint=provider_stats
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResponseSerializationBenchmarkTest {
+
+    @Test
+    void compareSerialization() throws Exception {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(ResponseSerializationBenchmark.class.getName())
+                .jvmArgsAppend("-Xms512m", "-Xmx512m");
+        String endpoint = System.getProperty("benchmark.endpoint");
+        if (endpoint != null) {
+            options.param("endpoint", endpoint);
+        }
+        Options built = options.build();
+
+        Collection<RunResult> results = new Runner(built).run();
+        assertFalse(results.isEmpty());
+    }
+}
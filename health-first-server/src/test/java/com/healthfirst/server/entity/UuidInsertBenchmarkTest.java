@@ -0,0 +1,76 @@
+package com.healthfirst.server.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Insert throughput into a uuid-unique table, random v4 vs time-ordered v7. Opt-in, since the
+// gap only shows once the index outgrows memory on a real database:
+//   mvn test -Dtest=UuidInsertBenchmarkTest -Dbenchmark=true \
+//       -Dbenchmark.jdbc-url=jdbc:postgresql://localhost:5432/health_first \
+//       -Dbenchmark.user=postgres -Dbenchmark.password=... -Dbenchmark.rows=2000000
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void compareInsertThroughput() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:uuid_benchmark");
+        String user = System.getProperty("benchmark.user", "sa");
+        String password = System.getProperty("benchmark.password", "");
+        int rows = Integer.getInteger("benchmark.rows", 500_000);
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            // Alternate the two so neither benefits from running second; keep each one's best round
+            double randomBest = 0;
+            double orderedBest = 0;
+            for (int round = 0; round < 2; round++) {
+                randomBest = Math.max(randomBest, run(connection, "uuid_benchmark_v4", rows, UUID::randomUUID));
+                orderedBest = Math.max(orderedBest, run(connection, "uuid_benchmark_v7", rows, UuidV7::generate));
+            }
+            System.out.printf("UUID insert benchmark (%d rows, %s)%n", rows, url);
+            System.out.printf("  random v4:       %,.0f rows/s%n", randomBest);
+            System.out.printf("  time-ordered v7: %,.0f rows/s (%.2fx)%n", orderedBest, orderedBest / randomBest);
+        }
+    }
+
+    private static double run(Connection connection, String table, int rows, Supplier<UUID> generator)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "uuid UUID NOT NULL UNIQUE)");
+        }
+        connection.commit();
+
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (uuid) VALUES (?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, generator.get());
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        connection.commit();
+        return rows / seconds;
+    }
+}
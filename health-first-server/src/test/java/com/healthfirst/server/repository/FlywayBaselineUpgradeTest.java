@@ -0,0 +1,79 @@
+package com.healthfirst.server.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Upgrades a database that ddl-auto created before Flyway was introduced: Flyway baselines it at
+// V1, runs the later migrations, and Hibernate then validates the result against the entities. The
+// context only starts if validation passes. Runs on its own H2 database whatever the test
+// datasource is, since the baseline schema is H2 DDL.
+@SpringBootTest
+@ActiveProfiles("test")
+class FlywayBaselineUpgradeTest {
+
+    private static final String URL = "jdbc:h2:mem:upgrade-" + UUID.randomUUID()
+            + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void preFlywayDatabase(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("db/pre-flyway-h2-schema.sql"));
+        populator.execute(dataSource);
+
+        // One availability, so the migrations that backfill columns have a row to work on
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into providers (is_active, created_at, updated_at, uuid, first_name, last_name,"
+                + " specialization, clinic_city, clinic_state, clinic_street, clinic_zip, email, license_number,"
+                + " password_hash, phone_number, verification_status) values (true, current_timestamp,"
+                + " current_timestamp, ?, 'John', 'Doe', 'Cardiology', 'Springfield', 'IL', '1 Main St', '62701',"
+                + " 'john.doe@clinic.com', 'MD123456', 'hash', '+15550000001', 'VERIFIED')", UUID.randomUUID());
+        jdbc.update("insert into provider_availability (break_duration, current_appointments, date, end_time,"
+                + " is_recurring, max_appointments_per_slot, slot_duration, start_time, created_at, provider_id,"
+                + " updated_at, uuid, appointment_type, location_type, status, timezone) values (0, 0,"
+                + " date '2025-03-14', time '10:00:00', false, 1, 30, time '09:00:00', current_timestamp,"
+                + " (select id from providers), current_timestamp, ?, 'CONSULTATION', 'CLINIC', 'AVAILABLE',"
+                + " 'America/New_York')", UUID.randomUUID());
+
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.H2Dialect");
+    }
+
+    @Test
+    void preFlywayDatabase_IsBaselinedAndMigrated() {
+        // Act
+        List<String> history = jdbcTemplate.queryForList("select version || ':' || type"
+                + " from flyway_schema_history where success and version is not null order by installed_rank",
+                String.class);
+        Integer refreshTokens = jdbcTemplate.queryForObject("select count(*) from refresh_tokens", Integer.class);
+        Integer backfilled = jdbcTemplate.queryForObject(
+                "select count(*) from provider_availability where starts_at is not null and ends_at > starts_at",
+                Integer.class);
+
+        // Assert
+        assertEquals("1:BASELINE", history.get(0), history::toString);
+        assertTrue(history.contains("2:SQL"), () -> "refresh_tokens migration not applied: " + history);
+        assertEquals(0, refreshTokens);
+        assertEquals(1, backfilled);
+    }
+}
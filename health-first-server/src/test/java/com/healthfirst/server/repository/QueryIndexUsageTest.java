@@ -0,0 +1,208 @@
+package com.healthfirst.server.repository;
+
+import com.healthfirst.server.entity.ProviderAvailability;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs EXPLAIN on the SQL Hibernate generates for the hot repository queries and checks that the
+// plan goes through the index the migrations create for it. On PostgreSQL sequential scans are
+// disabled for the transaction, since the planner would rightly prefer them on empty tables.
+// H2 adds its own index for every foreign key and picks freely between equivalent ones on empty
+// tables, so there the check is only that no table is scanned.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.healthfirst.server.repository.QueryIndexUsageTest$CapturingInspector")
+@ActiveProfiles("test")
+@Transactional
+class QueryIndexUsageTest {
+
+    private static final Long PROVIDER_ID = 1L;
+    private static final UUID PROVIDER_UUID = UUID.randomUUID();
+    private static final UUID PATIENT_UUID = UUID.randomUUID();
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+    private static final ZonedDateTime START = ZonedDateTime.of(2025, 3, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime END = START.plusDays(7);
+
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+
+    @BeforeEach
+    void setUp() {
+        postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres"));
+        if (postgres) {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        }
+        CapturingInspector.clear();
+    }
+
+    @Test
+    void findByProviderAndDateRange_UsesProviderDateIndex() {
+        availabilityRepository.findByProviderAndDateRange(PROVIDER_ID, FROM, TO,
+                ProviderAvailability.AvailabilityStatus.AVAILABLE, ProviderAvailability.AppointmentType.CONSULTATION,
+                Pageable.unpaged());
+
+        assertPlanUses("idx_provider_availability_provider_date_start",
+                PROVIDER_ID, FROM, TO, "AVAILABLE", "AVAILABLE", "CONSULTATION", "CONSULTATION");
+    }
+
+    @Test
+    void findOverlappingSlots_UsesProviderDateIndex() {
+        availabilityRepository.findOverlappingSlots(PROVIDER_ID, FROM, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertPlanUses("idx_provider_availability_provider_date_start",
+                PROVIDER_ID, FROM, LocalTime.of(10, 0), LocalTime.of(9, 0));
+    }
+
+    @Test
+    void countAvailableSlotsByProviderAndDateRange_UsesProviderDateIndex() {
+        availabilityRepository.countAvailableSlotsByProviderAndDateRange(PROVIDER_ID, FROM, TO);
+
+        assertPlanUses("idx_provider_availability_provider_date_start", PROVIDER_ID, FROM, TO);
+    }
+
+    @Test
+    void findUpcomingSlots_UsesProviderDateIndex() {
+        availabilityRepository.findUpcomingSlots(PROVIDER_ID, FROM);
+
+        assertPlanUses("idx_provider_availability_provider_date_start", PROVIDER_ID, FROM);
+    }
+
+    @Test
+    void findActiveRecurringSlots_UsesProviderDateIndex() {
+        availabilityRepository.findActiveRecurringSlots(PROVIDER_ID, FROM);
+
+        assertPlanUses("idx_provider_availability_provider_date_start", FROM, PROVIDER_ID);
+    }
+
+    @Test
+    void searchAvailableSlots_UsesAvailableDateIndex() {
+        availabilityRepository.searchAvailableSlots(FROM, TO, "cardio", "main", ProviderAvailability.AppointmentType.CONSULTATION,
+                true, new BigDecimal("500.00"), Pageable.unpaged());
+
+        assertPlanUses("idx_provider_availability_available_date",
+                FROM, TO, "cardio", "cardio", "main", "main", "CONSULTATION", "CONSULTATION",
+                true, true, new BigDecimal("500.00"), new BigDecimal("500.00"));
+    }
+
+    @Test
+    void findAvailableSpecializations_UsesAvailableDateIndex() {
+        availabilityRepository.findAvailableSpecializations(FROM);
+
+        assertPlanUses("idx_provider_availability_available_date", FROM);
+    }
+
+    @Test
+    void findByAvailabilityIdIn_UsesAvailabilityIndex() {
+        slotRepository.findByAvailabilityIdIn(List.of(1L, 2L));
+
+        assertPlanUses("idx_appointment_slots_availability_id", 1L, 2L);
+    }
+
+    @Test
+    void findAvailableSlotsForProvider_UsesProviderStartIndex() {
+        slotRepository.findAvailableSlotsForProvider(PROVIDER_UUID, START, END);
+
+        assertPlanUses("idx_appointment_slots_provider_start", PROVIDER_UUID, offset(START), offset(END));
+    }
+
+    @Test
+    void findUpcomingAppointmentsForPatient_UsesPatientStartIndex() {
+        slotRepository.findUpcomingAppointmentsForPatient(PATIENT_UUID, START);
+
+        assertPlanUses("idx_appointment_slots_patient_start", PATIENT_UUID, offset(START));
+    }
+
+    @Test
+    void findAvailableSlots_UsesAvailableStartIndex() {
+        slotRepository.findAvailableSlots(START, END, null, null, Pageable.unpaged());
+
+        assertPlanUses("idx_appointment_slots_available_start",
+                offset(START), offset(END), new TypedNull(Types.OTHER), new TypedNull(Types.OTHER),
+                new TypedNull(Types.VARCHAR), new TypedNull(Types.VARCHAR));
+    }
+
+    // Parameters are given in the order they appear in the generated SQL
+    private void assertPlanUses(String index, Object... parameters) {
+        List<String> statements = CapturingInspector.drain();
+        assertFalse(statements.isEmpty(), "No SQL was captured");
+        String sql = statements.get(0);
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), () -> "Parameter count for: " + sql);
+
+        List<String> rows = jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i] instanceof TypedNull typedNull) {
+                    statement.setNull(i + 1, typedNull.sqlType());
+                } else {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+            }
+        }, (resultSet, rowNum) -> resultSet.getString(1));
+        String plan = String.join("\n", rows);
+
+        if (postgres) {
+            assertTrue(plan.contains(index), () -> "Expected " + index + " in plan for:\n" + sql + "\n" + plan);
+            assertFalse(plan.contains("Seq Scan"), () -> "Sequential scan in plan for:\n" + sql + "\n" + plan);
+        } else {
+            assertFalse(plan.contains(".tableScan"), () -> "Table scan in plan for:\n" + sql + "\n" + plan);
+        }
+    }
+
+    private static OffsetDateTime offset(ZonedDateTime time) {
+        return time.toOffsetDateTime();
+    }
+
+    private record TypedNull(int sqlType) {
+    }
+
+    // Records every statement Hibernate prepares on this thread
+    public static class CapturingInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.get().clear();
+        }
+
+        static List<String> drain() {
+            List<String> statements = new ArrayList<>(STATEMENTS.get());
+            clear();
+            return statements;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.healthfirst.server.security;
+
+import com.healthfirst.server.exception.PasswordHashingCapacityException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private ThreadPoolExecutor executor;
+    private ExecutorService callers;
+    private CountDownLatch release;
+    private CountDownLatch started;
+
+    @BeforeEach
+    void setUp() {
+        // One hashing thread and one queue slot
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+        callers = Executors.newFixedThreadPool(2);
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void matches_RunsOnHashingPool() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new RecordingEncoder(), executor, 1000);
+
+        // Act
+        boolean result = encoder.matches("secret", "secret");
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1L, encoder.getStats().get("completed"));
+    }
+
+    @Test
+    void bindTo_PublishesHashingMeters() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new RecordingEncoder(), executor, 1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        // Act
+        encoder.matches("secret", "secret");
+
+        // Assert
+        assertEquals(1.0, registry.get("password.hashing").functionTimer().count());
+        assertEquals(0.0, registry.get("password.hashing.rejected").tag("reason", "capacity").functionCounter().count());
+        assertEquals(0.0, registry.get("password.hashing.queue.depth").gauge().value());
+    }
+
+    @Test
+    void encode_RejectsWhenSaturated() throws Exception {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(), executor, 5000);
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        while (executor.getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        // Act & Assert
+        assertThrows(PasswordHashingCapacityException.class, () -> encoder.encode("third"));
+        assertEquals(1L, encoder.getStats().get("rejected"));
+
+        release.countDown();
+        assertEquals("first", running.get(2, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_TimesOut() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(), executor, 50);
+
+        // Act & Assert
+        assertThrows(PasswordHashingCapacityException.class, () -> encoder.encode("slow"));
+        assertEquals(1L, encoder.getStats().get("timed_out"));
+    }
+
+    private static class RecordingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            assertTrue(Thread.currentThread().getName().startsWith("pool-"));
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.healthfirst.server.security;
+
+import com.healthfirst.server.exception.LoginThrottledException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    // Refill of 1 per minute keeps the buckets effectively static for the duration of a test
+    private LoginRateLimiter limiter(int ipCapacity, int accountCapacity, int lockoutThreshold, int maxEntries) {
+        return new LoginRateLimiter(ipCapacity, 1, accountCapacity, 1, lockoutThreshold, 30, 900, 900, maxEntries);
+    }
+
+    @Test
+    void acquire_RejectsOnceAccountBucketIsEmpty() {
+        LoginRateLimiter limiter = limiter(100, 3, 100, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("provider", "john.doe@clinic.com", "10.0.0." + i);
+        }
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("provider", " John.Doe@Clinic.com ", "10.0.0.9"));
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+
+        // Same email in the other realm has its own bucket
+        assertDoesNotThrow(() -> limiter.acquire("patient", "john.doe@clinic.com", "10.0.0.9"));
+    }
+
+    @Test
+    void acquire_RejectsOnceIpBucketIsEmpty() {
+        LoginRateLimiter limiter = limiter(2, 100, 100, 1000);
+
+        limiter.acquire("provider", "a@clinic.com", "10.0.0.1");
+        limiter.acquire("provider", "b@clinic.com", "10.0.0.1");
+
+        assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("provider", "c@clinic.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> limiter.acquire("provider", "c@clinic.com", "10.0.0.2"));
+        assertEquals(1L, limiter.getStats().get("rejected_by_ip"));
+    }
+
+    @Test
+    void recordFailure_LocksAccountAfterThreshold() {
+        LoginRateLimiter limiter = limiter(100, 100, 3, 1000);
+
+        limiter.recordFailure("patient", "jane@example.com");
+        limiter.recordFailure("patient", "jane@example.com");
+        assertDoesNotThrow(() -> limiter.acquire("patient", "jane@example.com", "10.0.0.1"));
+
+        limiter.recordFailure("patient", "jane@example.com");
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("patient", "jane@example.com", "10.0.0.1"));
+        assertTrue(exception.getRetryAfterSeconds() > 0 && exception.getRetryAfterSeconds() <= 30);
+
+        // Each further failure doubles the lockout
+        limiter.recordFailure("patient", "jane@example.com");
+        exception = assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("patient", "jane@example.com", "10.0.0.1"));
+        assertTrue(exception.getRetryAfterSeconds() > 30 && exception.getRetryAfterSeconds() <= 60);
+        assertEquals(2L, limiter.getStats().get("lockouts_started"));
+    }
+
+    @Test
+    void recordSuccess_ClearsFailureCount() {
+        LoginRateLimiter limiter = limiter(100, 100, 3, 1000);
+
+        limiter.recordFailure("provider", "john.doe@clinic.com");
+        limiter.recordFailure("provider", "john.doe@clinic.com");
+        limiter.recordSuccess("provider", "john.doe@clinic.com");
+        limiter.recordFailure("provider", "john.doe@clinic.com");
+
+        assertDoesNotThrow(() -> limiter.acquire("provider", "john.doe@clinic.com", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_EvictsIdleEntriesToMakeRoom() {
+        // Buckets refill within nanoseconds, so every entry is idle again right after its attempt
+        LoginRateLimiter limiter = new LoginRateLimiter(1, Integer.MAX_VALUE, 1, Integer.MAX_VALUE, 100, 30, 900, 900, 10);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire("provider", "user" + i + "@clinic.com", "10.0.1." + i);
+        }
+
+        assertTrue((Integer) limiter.getStats().get("tracked_ips") <= 10);
+        assertTrue((Integer) limiter.getStats().get("tracked_accounts") <= 10);
+        assertTrue((Long) limiter.getStats().get("evictions") > 0);
+    }
+
+    @Test
+    void acquire_RejectsNewKeysWhenFullOfLiveEntries() {
+        LoginRateLimiter limiter = limiter(100, 100, 100, 10);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("provider", "user" + i + "@clinic.com", "10.0.1.1");
+        }
+
+        assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("provider", "new@clinic.com", "10.0.1.1"));
+        assertDoesNotThrow(() -> limiter.acquire("provider", "user0@clinic.com", "10.0.1.1"));
+        assertEquals(10, limiter.getStats().get("tracked_accounts"));
+        assertEquals(0L, limiter.getStats().get("evictions"));
+        assertEquals(1L, limiter.getStats().get("rejected_at_capacity"));
+    }
+
+    @Test
+    void acquire_KeepsLockoutWhileFloodedWithNewKeys() {
+        LoginRateLimiter limiter = limiter(100, 100, 3, 10);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("patient", "jane@example.com", "10.0.0.1");
+            limiter.recordFailure("patient", "jane@example.com");
+        }
+
+        // Spray distinct emails from distinct addresses to try to push the lockout out
+        for (int i = 0; i < 1000; i++) {
+            try {
+                limiter.acquire("patient", "spray" + i + "@example.com", "10.0.2." + i);
+                limiter.recordFailure("patient", "spray" + i + "@example.com");
+            } catch (LoginThrottledException e) {
+                // expected once the maps are full
+            }
+        }
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("patient", "jane@example.com", "10.0.0.1"));
+        assertEquals("Too many failed login attempts. Try again later.", exception.getMessage());
+    }
+}
@@ -0,0 +1,31 @@
+package com.healthfirst.server.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginTimingGuardTest {
+
+    @Test
+    void unknownAccountLogins_AreCountedOnlyInMeters() {
+        // Arrange
+        LoginTimingGuard guard = new LoginTimingGuard(false, 1000, 0.01);
+        ReflectionTestUtils.setField(guard, "passwordEncoder", NoOpPasswordEncoder.getInstance());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        guard.bindTo(registry);
+        Map<String, Object> before = guard.getStats();
+
+        // Act
+        guard.verifyAgainstDummy("password");
+
+        // Assert: the public stats must not move with a login on an unknown email
+        assertEquals(before, guard.getStats());
+        assertEquals(1.0, registry.get("login.guard.dummy.verifications").functionCounter().count());
+        assertEquals(0.0, registry.get("login.guard.filter.misses").functionCounter().count());
+    }
+}
@@ -0,0 +1,61 @@
+package com.healthfirst.server.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TunableBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_DetectsCostChangeInBothDirections() {
+        // Arrange
+        TunableBCryptPasswordEncoder encoder = new TunableBCryptPasswordEncoder(5);
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void delegating_AcceptsLegacyHashAndRequestsUpgrade() {
+        // Arrange
+        TunableBCryptPasswordEncoder bcrypt = new TunableBCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+
+        String upgraded = encoder.encode("secret");
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("secret", upgraded));
+        assertFalse(encoder.upgradeEncoding(upgraded));
+    }
+
+    @Test
+    void benchmark_StaysWithinBounds() {
+        // Act
+        int cost = BCryptCostBenchmark.pickCost(1, 4, 6);
+
+        // Assert
+        assertEquals(4, cost);
+        assertEquals(6, BCryptCostBenchmark.pickCost(60_000, 4, 6));
+    }
+
+    @Test
+    void bounded_PassesUpgradeCheckThrough() {
+        // Arrange
+        PasswordEncoder bounded = new BoundedPasswordEncoder(new TunableBCryptPasswordEncoder(4), null, 1000);
+
+        // Act & Assert
+        assertTrue(bounded.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+    }
+}
@@ -4,7 +4,10 @@ import com.healthfirst.server.dto.LoginRequest;
 import com.healthfirst.server.dto.LoginResponse;
 import com.healthfirst.server.entity.ClinicAddress;
 import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.entity.RefreshToken;
+import com.healthfirst.server.exception.InvalidCredentialsException;
 import com.healthfirst.server.repository.ProviderRepository;
+import com.healthfirst.server.security.LoginTimingGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +35,12 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginTimingGuard loginTimingGuard;
+
     @InjectMocks
     private AuthService authService;
 
@@ -69,6 +78,9 @@ class AuthServiceTest {
         validLoginRequest = new LoginRequest();
         validLoginRequest.setEmail("john.doe@clinic.com");
         validLoginRequest.setPassword("SecurePassword123!");
+
+        // Bloom filter has seen every email unless a test says otherwise
+        lenient().when(loginTimingGuard.mightExist(any(), any())).thenReturn(true);
     }
 
     @Test
@@ -80,6 +92,7 @@ class AuthServiceTest {
                 .thenReturn(true);
         when(jwtService.generateToken(mockProvider)).thenReturn("jwt-token-here");
         when(jwtService.getExpirationTime()).thenReturn(3600L);
+        when(refreshTokenService.issue(RefreshToken.SubjectType.PROVIDER, testUuid)).thenReturn("refresh-token");
 
         // Act
         LoginResponse response = authService.login(validLoginRequest);
@@ -89,6 +102,7 @@ class AuthServiceTest {
         assertEquals("jwt-token-here", response.getAccessToken());
         assertEquals(3600L, response.getExpiresIn());
         assertEquals("Bearer", response.getTokenType());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertNotNull(response.getProvider());
         assertEquals("john.doe@clinic.com", response.getProvider().getEmail());
         assertEquals("John", response.getProvider().getFirstName());
@@ -100,6 +114,24 @@ class AuthServiceTest {
         verify(jwtService).getExpirationTime();
     }
 
+    @Test
+    void login_RehashesOutdatedHash() {
+        // Arrange
+        when(providerRepository.findByEmail(validLoginRequest.getEmail()))
+                .thenReturn(Optional.of(mockProvider));
+        when(passwordEncoder.matches(validLoginRequest.getPassword(), "hashedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode(validLoginRequest.getPassword())).thenReturn("{bcrypt}rehashed");
+        when(jwtService.generateToken(mockProvider)).thenReturn("jwt-token-here");
+
+        // Act
+        authService.login(validLoginRequest);
+
+        // Assert
+        assertEquals("{bcrypt}rehashed", mockProvider.getPasswordHash());
+        verify(providerRepository).save(mockProvider);
+    }
+
     @Test
     void login_InvalidEmail() {
         // Arrange
@@ -110,6 +142,20 @@ class AuthServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> authService.login(validLoginRequest));
         assertEquals("Invalid credentials", exception.getMessage());
+        verify(loginTimingGuard).verifyAgainstDummy(validLoginRequest.getPassword());
+    }
+
+    @Test
+    void login_UnknownEmailSkipsLookup() {
+        // Arrange
+        when(loginTimingGuard.mightExist(any(), any())).thenReturn(false);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> authService.login(validLoginRequest));
+        assertEquals("Invalid credentials", exception.getMessage());
+        verify(providerRepository, never()).findByEmail(any());
+        verify(loginTimingGuard).verifyAgainstDummy(validLoginRequest.getPassword());
     }
 
     @Test
@@ -121,7 +167,7 @@ class AuthServiceTest {
                 .thenReturn(false);
 
         // Act & Assert
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        IllegalArgumentException exception = assertThrows(InvalidCredentialsException.class,
                 () -> authService.login(validLoginRequest));
         assertEquals("Invalid credentials", exception.getMessage());
     }
@@ -154,6 +200,43 @@ class AuthServiceTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> authService.login(validLoginRequest));
         assertEquals("Account is not verified. Please wait for verification.", exception.getMessage());
+        // The password was right, so this must not count towards the lockout
+        assertFalse(exception instanceof InvalidCredentialsException);
+    }
+
+    @Test
+    void refreshToken_Success() {
+        // Arrange
+        when(refreshTokenService.rotate("old-refresh-token", RefreshToken.SubjectType.PROVIDER))
+                .thenReturn(new RefreshTokenService.Rotation(RefreshToken.SubjectType.PROVIDER, testUuid, "new-refresh-token"));
+        when(providerRepository.findByUuid(testUuid)).thenReturn(Optional.of(mockProvider));
+        when(jwtService.generateToken(mockProvider)).thenReturn("new-jwt-token");
+        when(jwtService.getExpirationTime()).thenReturn(900L);
+
+        // Act
+        LoginResponse response = authService.refreshToken("old-refresh-token");
+
+        // Assert
+        assertEquals("new-jwt-token", response.getAccessToken());
+        assertEquals("new-refresh-token", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
+        verify(refreshTokenService, never()).revoke(any());
+    }
+
+    @Test
+    void refreshToken_DeactivatedAccount() {
+        // Arrange
+        mockProvider.setIsActive(false);
+        when(refreshTokenService.rotate("old-refresh-token", RefreshToken.SubjectType.PROVIDER))
+                .thenReturn(new RefreshTokenService.Rotation(RefreshToken.SubjectType.PROVIDER, testUuid, "new-refresh-token"));
+        when(providerRepository.findByUuid(testUuid)).thenReturn(Optional.of(mockProvider));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> authService.refreshToken("old-refresh-token"));
+        assertEquals("Account is no longer active", exception.getMessage());
+        verify(refreshTokenService).revoke("new-refresh-token");
+        verify(jwtService, never()).generateToken(any(Provider.class));
     }
 
     @Test
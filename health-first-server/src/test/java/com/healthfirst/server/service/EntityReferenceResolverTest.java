@@ -0,0 +1,71 @@
+package com.healthfirst.server.service;
+
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.repository.PatientRepository;
+import com.healthfirst.server.repository.ProviderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityReferenceResolverTest {
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EntityReferenceResolver resolver;
+    private UUID providerUuid;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new EntityReferenceResolver(providerRepository, patientRepository, entityManager, 100);
+        providerUuid = UUID.randomUUID();
+    }
+
+    @Test
+    void providerReference_ResolvesIdOnceWithoutLoadingRow() {
+        // Arrange
+        Provider proxy = new Provider();
+        when(providerRepository.findIdByUuid(providerUuid)).thenReturn(Optional.of(42L));
+        when(entityManager.getReference(Provider.class, 42L)).thenReturn(proxy);
+
+        // Act
+        Provider first = resolver.providerReference(providerUuid);
+        Provider second = resolver.providerReference(providerUuid);
+
+        // Assert
+        assertSame(proxy, first);
+        assertSame(proxy, second);
+        verify(providerRepository, times(1)).findIdByUuid(providerUuid);
+        verify(providerRepository, never()).findByUuid(any());
+    }
+
+    @Test
+    void providerId_UnknownUuidIsNotCached() {
+        // Arrange
+        when(providerRepository.findIdByUuid(providerUuid)).thenReturn(Optional.empty(), Optional.of(7L));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> resolver.providerId(providerUuid));
+        assertEquals("Provider not found", exception.getMessage());
+
+        // A provider registered afterwards resolves on the next call
+        assertEquals(7L, resolver.providerId(providerUuid));
+    }
+}
@@ -0,0 +1,82 @@
+package com.healthfirst.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<ImportRecordReader.Record> read(String content, ImportRecordReader.Format format) throws Exception {
+        List<ImportRecordReader.Record> records = new ArrayList<>();
+        try (ImportRecordReader reader = new ImportRecordReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, objectMapper,
+                Set.of("medicalHistory"))) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void csv_NestsDottedColumnsAndHandlesQuotes() throws Exception {
+        String csv = "firstName,email,clinicAddress.street,clinicAddress.city,medicalHistory\n"
+                + "John,john@clinic.com,\"12 Main St, Suite \"\"B\"\"\",Boston,Asthma; Diabetes\n"
+                + "\n"
+                + "Jane,jane@clinic.com,\"Line one\nLine two\",,\n";
+
+        List<ImportRecordReader.Record> records = read(csv, ImportRecordReader.Format.CSV);
+
+        assertEquals(2, records.size());
+        Map<String, Object> first = records.get(0).fields();
+        assertEquals(1, records.get(0).row());
+        assertEquals("John", first.get("firstName"));
+        Map<String, Object> address = (Map<String, Object>) first.get("clinicAddress");
+        assertEquals("12 Main St, Suite \"B\"", address.get("street"));
+        assertEquals("Boston", address.get("city"));
+        assertEquals(List.of("Asthma", "Diabetes"), first.get("medicalHistory"));
+
+        Map<String, Object> second = records.get(1).fields();
+        assertEquals(2, records.get(1).row());
+        assertEquals("Line one\nLine two", ((Map<String, Object>) second.get("clinicAddress")).get("street"));
+        assertFalse(second.containsKey("medicalHistory"));
+    }
+
+    @Test
+    void csv_ReportsColumnCountMismatch() throws Exception {
+        List<ImportRecordReader.Record> records = read("firstName,email\nJohn\n", ImportRecordReader.Format.CSV);
+
+        assertEquals(1, records.size());
+        assertNull(records.get(0).fields());
+        assertEquals("Expected 2 columns but found 1", records.get(0).error());
+    }
+
+    @Test
+    void ndjson_ReportsMalformedLinesAndContinues() throws Exception {
+        String ndjson = "{\"firstName\":\"John\"}\n{not json}\n\n{\"firstName\":\"Jane\"}\n";
+
+        List<ImportRecordReader.Record> records = read(ndjson, ImportRecordReader.Format.NDJSON);
+
+        assertEquals(3, records.size());
+        assertEquals("John", records.get(0).fields().get("firstName"));
+        assertEquals(2, records.get(1).row());
+        assertTrue(records.get(1).error().startsWith("Malformed JSON"));
+        assertEquals("Jane", records.get(2).fields().get("firstName"));
+    }
+
+    @Test
+    void format_FromContentType() {
+        assertEquals(ImportRecordReader.Format.CSV, ImportRecordReader.Format.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(ImportRecordReader.Format.NDJSON, ImportRecordReader.Format.fromContentType("application/x-ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> ImportRecordReader.Format.fromContentType("application/json"));
+    }
+}
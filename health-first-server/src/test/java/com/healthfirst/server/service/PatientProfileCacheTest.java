@@ -0,0 +1,82 @@
+package com.healthfirst.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthfirst.server.dto.PatientResponse;
+import com.healthfirst.server.dto.RawJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientProfileCacheTest {
+
+    private PatientProfileCache cache;
+    private UUID uuid;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PatientProfileCache(new ObjectMapper().findAndRegisterModules(), 100, 300);
+        uuid = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void repeatReadsAreServedFromCache() {
+        RawJson first = cache.getByUuid(uuid, () -> load("jane@email.com"));
+        RawJson second = cache.getByUuid(uuid, () -> load("jane@email.com"));
+        RawJson byEmail = cache.getByEmail("jane@email.com", () -> load("jane@email.com"));
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertSame(first, byEmail);
+        assertTrue(first.getJson().contains("\"email\":\"jane@email.com\""));
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        cache.getByUuid(uuid, () -> load("jane@email.com"));
+        cache.invalidate(uuid);
+        RawJson reloaded = cache.getByUuid(uuid, () -> load("jane.new@email.com"));
+
+        assertEquals(2, loads.get());
+        assertTrue(reloaded.getJson().contains("jane.new@email.com"));
+    }
+
+    @Test
+    void staleEmailIndexIsNotTrusted() {
+        cache.getByEmail("jane@email.com", () -> load("jane@email.com"));
+        cache.invalidate(uuid);
+        cache.getByUuid(uuid, () -> load("jane.new@email.com"));
+
+        // The old email still points at the uuid, but the cached profile no longer carries it
+        assertThrows(IllegalArgumentException.class, () -> cache.getByEmail("jane@email.com", () -> {
+            throw new IllegalArgumentException("Patient not found");
+        }));
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        cache.getByUuid(uuid, () -> {
+            PatientResponse response = load("jane@email.com");
+            cache.invalidate(uuid);
+            return response;
+        });
+        cache.getByUuid(uuid, () -> load("jane@email.com"));
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.getStats().get("skipped_puts"));
+    }
+
+    private PatientResponse load(String email) {
+        loads.incrementAndGet();
+        PatientResponse response = new PatientResponse();
+        response.setUuid(uuid);
+        response.setEmail(email);
+        response.setFirstName("Jane");
+        return response;
+    }
+}
@@ -1,24 +1,32 @@
 package com.healthfirst.server.service;
 
+import com.healthfirst.server.dto.BulkStatusUpdateResponse;
 import com.healthfirst.server.dto.PatientRegistrationRequest;
 import com.healthfirst.server.dto.PatientResponse;
 import com.healthfirst.server.entity.Patient;
 import com.healthfirst.server.entity.Address;
 import com.healthfirst.server.repository.PatientRepository;
+import com.healthfirst.server.security.LoginTimingGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +41,15 @@ class PatientServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginTimingGuard loginTimingGuard;
+
+    @Mock
+    private PatientProfileCache patientProfileCache;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -82,10 +99,8 @@ class PatientServiceTest {
     @Test
     void registerPatient_Success() {
         // Arrange
-        when(patientRepository.existsByEmail(validRequest.getEmail())).thenReturn(false);
-        when(patientRepository.existsByPhoneNumber(validRequest.getPhoneNumber())).thenReturn(false);
         when(passwordEncoder.encode(validRequest.getPassword())).thenReturn("hashedPassword");
-        when(patientRepository.save(any(Patient.class))).thenReturn(mockPatient);
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenReturn(mockPatient);
 
         // Act
         PatientResponse response = patientService.registerPatient(validRequest);
@@ -101,10 +116,9 @@ class PatientServiceTest {
         assertFalse(response.getPhoneVerified());
         assertTrue(response.getIsActive());
 
-        verify(patientRepository).existsByEmail(validRequest.getEmail());
-        verify(patientRepository).existsByPhoneNumber(validRequest.getPhoneNumber());
         verify(passwordEncoder).encode(validRequest.getPassword());
-        verify(patientRepository).save(any(Patient.class));
+        verify(patientRepository).saveAndFlush(any(Patient.class));
+        verify(patientRepository, never()).existsByEmail(any());
     }
 
     @Test
@@ -117,21 +131,23 @@ class PatientServiceTest {
                 () -> patientService.registerPatient(validRequest));
         assertEquals("Password and confirmation password do not match", exception.getMessage());
         
-        verify(patientRepository, never()).save(any(Patient.class));
+        verify(patientRepository, never()).saveAndFlush(any(Patient.class));
     }
 
     @Test
     void registerPatient_EmailAlreadyExists() {
         // Arrange
-        when(patientRepository.existsByEmail(validRequest.getEmail())).thenReturn(true);
+        SQLException sqlException = new SQLException("duplicate key value violates unique constraint \"uk_patients_email\"", "23505");
+        when(patientRepository.saveAndFlush(any(Patient.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new org.hibernate.exception.ConstraintViolationException("could not execute statement", sqlException, "uk_patients_email")));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> patientService.registerPatient(validRequest));
         assertEquals("Email already exists", exception.getMessage());
         
-        verify(patientRepository).existsByEmail(validRequest.getEmail());
-        verify(patientRepository, never()).save(any(Patient.class));
+        verify(patientRepository).saveAndFlush(any(Patient.class));
     }
 
     @Test
@@ -162,4 +178,38 @@ class PatientServiceTest {
         
         verify(patientRepository).findByUuid(testUuid);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void deactivatePatient_InvalidatesProfileCache() {
+        // Arrange
+        when(patientRepository.updateActiveByUuidIn(eq(List.of(testUuid)), eq(false), any(ZonedDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        patientService.deactivatePatient(testUuid);
+
+        // Assert: one targeted UPDATE, no load or full-row save
+        verify(patientRepository, never()).findByUuid(any());
+        verify(patientRepository, never()).save(any(Patient.class));
+        verify(patientProfileCache).invalidate(testUuid);
+    }
+
+    @Test
+    void verifyEmails_UpdatesDistinctUuidsInOneStatement() {
+        // Arrange
+        UUID other = UUID.randomUUID();
+        when(patientRepository.markEmailVerifiedByUuidIn(eq(Set.of(testUuid, other)), any(ZonedDateTime.class)))
+                .thenReturn(1);
+
+        // Act
+        BulkStatusUpdateResponse response = patientService.verifyEmails(List.of(testUuid, other, testUuid));
+
+        // Assert
+        assertEquals(2, response.getRequested());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getNotFound());
+        verify(patientRepository).markEmailVerifiedByUuidIn(any(), any(ZonedDateTime.class));
+        verify(patientProfileCache).invalidate(testUuid);
+        verify(patientProfileCache).invalidate(other);
+    }
+}
@@ -0,0 +1,168 @@
+package com.healthfirst.server.service;
+
+import com.healthfirst.server.dto.AvailabilityVersion;
+import com.healthfirst.server.dto.ProviderAvailabilityRequest;
+import com.healthfirst.server.dto.ProviderAvailabilityResponse;
+import com.healthfirst.server.entity.Provider;
+import com.healthfirst.server.entity.ProviderAvailability;
+import com.healthfirst.server.repository.AppointmentSlotRepository;
+import com.healthfirst.server.repository.ProviderAvailabilityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderAvailabilityServiceTest {
+
+    @Mock
+    private ProviderAvailabilityRepository availabilityRepository;
+
+    @Mock
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Mock
+    private EntityReferenceResolver entityReferenceResolver;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ProviderAvailabilityService availabilityService;
+
+    private UUID providerUuid;
+    private Provider provider;
+    private ProviderAvailabilityRequest request;
+
+    @BeforeEach
+    void setUp() {
+        providerUuid = UUID.randomUUID();
+        provider = new Provider();
+        provider.setId(1L);
+        provider.setUuid(providerUuid);
+        provider.setFirstName("John");
+        provider.setLastName("Doe");
+        provider.setSpecialization("Cardiology");
+
+        request = new ProviderAvailabilityRequest();
+        request.setDate(LocalDate.of(2025, 3, 3));
+        request.setStartTime("09:00");
+        request.setEndTime("10:00");
+        request.setTimezone("America/New_York");
+        request.setAppointmentType(ProviderAvailability.AppointmentType.CONSULTATION);
+    }
+
+    @Test
+    void createAvailability_OverlapRejectedByDatabase_ReturnsOverlapError() {
+        // Arrange
+        when(entityReferenceResolver.providerReference(providerUuid)).thenReturn(provider);
+        SQLException sqlException = new SQLException("conflicting key value violates exclusion constraint "
+                + "\"ex_provider_availability_overlap\"", "23P01");
+        when(availabilityRepository.saveAndFlush(any(ProviderAvailability.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", sqlException));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.createAvailability(providerUuid, request));
+        assertEquals("Time slot overlaps with existing availability", exception.getMessage());
+        // The constraint does the check; no query before the write
+        verify(availabilityRepository, never()).findOverlappingSlots(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("availability.overlap.rejected", "detected_by", "constraint").count());
+    }
+
+    @Test
+    void createAvailability_InvalidTimezone_Rejected() {
+        // Arrange
+        when(entityReferenceResolver.providerReference(providerUuid)).thenReturn(provider);
+        request.setTimezone("Mars/Olympus_Mons");
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.createAvailability(providerUuid, request));
+        assertEquals("Invalid timezone: Mars/Olympus_Mons", exception.getMessage());
+        verify(availabilityRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateAvailability_OverlapPrecheck_IgnoresItself() {
+        // Arrange
+        ReflectionTestUtils.setField(availabilityService, "overlapPrecheck", true);
+        ProviderAvailability existing = new ProviderAvailability();
+        existing.setId(5L);
+        existing.setProvider(provider);
+        existing.setDate(request.getDate());
+        existing.setStartTime(LocalTime.of(8, 0));
+        existing.setEndTime(LocalTime.of(9, 30));
+        existing.setTimezone("America/New_York");
+        when(availabilityRepository.findByUuid(existing.getUuid())).thenReturn(Optional.of(existing));
+        when(availabilityRepository.findOverlappingSlots(1L, request.getDate(), LocalTime.of(9, 0), LocalTime.of(10, 0)))
+                .thenReturn(List.of(existing));
+        when(availabilityRepository.saveAndFlush(existing)).thenReturn(existing);
+        when(appointmentSlotRepository.findByAvailabilityIdIn(List.of(5L))).thenReturn(List.of());
+
+        // Act
+        ProviderAvailabilityResponse response = availabilityService.updateAvailability(existing.getUuid(), request);
+
+        // Assert
+        assertEquals(LocalTime.of(9, 0), response.getStartTime());
+        verify(appointmentSlotRepository).saveAll(argThat(slots -> slots.iterator().hasNext()));
+        assertEquals(1, meterRegistry.timer("availability.slots.generation").count());
+        assertEquals(0.0, meterRegistry.counter("availability.overlap.rejected", "detected_by", "precheck").count());
+    }
+
+    @Test
+    void updateAvailability_TouchesUpdatedAt() {
+        // Arrange: only the special requirements change, which leaves the row itself clean
+        ZonedDateTime lastUpdate = ZonedDateTime.now().minusDays(1);
+        ProviderAvailability existing = new ProviderAvailability();
+        existing.setId(5L);
+        existing.setProvider(provider);
+        existing.setDate(request.getDate());
+        existing.setStartTime(LocalTime.of(9, 0));
+        existing.setEndTime(LocalTime.of(10, 0));
+        existing.setTimezone("America/New_York");
+        existing.setUpdatedAt(lastUpdate);
+        request.setSpecialRequirements(List.of("Bring previous test results"));
+        when(availabilityRepository.findByUuid(existing.getUuid())).thenReturn(Optional.of(existing));
+        when(availabilityRepository.saveAndFlush(existing)).thenReturn(existing);
+        when(appointmentSlotRepository.findByAvailabilityIdIn(List.of(5L))).thenReturn(List.of());
+
+        // Act
+        availabilityService.updateAvailability(existing.getUuid(), request);
+
+        // Assert
+        assertTrue(existing.getUpdatedAt().isAfter(lastUpdate));
+    }
+
+    @Test
+    void getUpcomingSlotsVersion_UnknownProvider_SkipsQuery() {
+        // Arrange
+        when(entityReferenceResolver.findProviderId(providerUuid)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<AvailabilityVersion> version = availabilityService.getUpcomingSlotsVersion(providerUuid, LocalDate.now());
+
+        // Assert
+        assertTrue(version.isEmpty());
+        verify(availabilityRepository, never()).findAvailabilityVersion(any(), any(), any());
+    }
+}
@@ -1,5 +1,6 @@
 package com.healthfirst.server.service;
 
+import com.healthfirst.server.dto.BulkStatusUpdateRequest;
 import com.healthfirst.server.dto.ProviderRegistrationRequest;
 import com.healthfirst.server.dto.ProviderResponse;
 import com.healthfirst.server.entity.ClinicAddress;
@@ -11,18 +12,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -84,11 +92,8 @@ class ProviderServiceTest {
     @Test
     void registerProvider_Success() {
         // Arrange
-        when(providerRepository.existsByEmail(validRequest.getEmail())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(validRequest.getPhoneNumber())).thenReturn(false);
-        when(providerRepository.existsByLicenseNumber(validRequest.getLicenseNumber())).thenReturn(false);
         when(passwordEncoder.encode(validRequest.getPassword())).thenReturn("hashedPassword");
-        when(providerRepository.save(any(Provider.class))).thenReturn(mockProvider);
+        when(providerRepository.saveAndFlush(any(Provider.class))).thenReturn(mockProvider);
 
         // Act
         ProviderResponse response = providerService.registerProvider(validRequest);
@@ -103,11 +108,9 @@ class ProviderServiceTest {
         assertEquals(Provider.VerificationStatus.PENDING, response.getVerificationStatus());
         assertTrue(response.getIsActive());
 
-        verify(providerRepository).existsByEmail(validRequest.getEmail());
-        verify(providerRepository).existsByPhoneNumber(validRequest.getPhoneNumber());
-        verify(providerRepository).existsByLicenseNumber(validRequest.getLicenseNumber());
         verify(passwordEncoder).encode(validRequest.getPassword());
-        verify(providerRepository).save(any(Provider.class));
+        verify(providerRepository).saveAndFlush(any(Provider.class));
+        verify(providerRepository, never()).existsByEmail(any());
     }
 
     @Test
@@ -124,7 +127,8 @@ class ProviderServiceTest {
     @Test
     void registerProvider_EmailAlreadyExists() {
         // Arrange
-        when(providerRepository.existsByEmail(validRequest.getEmail())).thenReturn(true);
+        when(providerRepository.saveAndFlush(any(Provider.class)))
+                .thenThrow(uniqueViolation("uk_providers_email", "Key (email)=(john.doe@clinic.com) already exists."));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -135,8 +139,8 @@ class ProviderServiceTest {
     @Test
     void registerProvider_PhoneNumberAlreadyExists() {
         // Arrange
-        when(providerRepository.existsByEmail(validRequest.getEmail())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(validRequest.getPhoneNumber())).thenReturn(true);
+        when(providerRepository.saveAndFlush(any(Provider.class)))
+                .thenThrow(uniqueViolation("uk_providers_phone_number", "Key (phone_number)=(+1234567890) already exists."));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -147,9 +151,9 @@ class ProviderServiceTest {
     @Test
     void registerProvider_LicenseNumberAlreadyExists() {
         // Arrange
-        when(providerRepository.existsByEmail(validRequest.getEmail())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(validRequest.getPhoneNumber())).thenReturn(false);
-        when(providerRepository.existsByLicenseNumber(validRequest.getLicenseNumber())).thenReturn(true);
+        // Constraint created before it was named: fall back to the column the driver reports
+        when(providerRepository.saveAndFlush(any(Provider.class)))
+                .thenThrow(uniqueViolation("ukq8vfh0m3wr1xe", "Key (license_number)=(MD123456789) already exists."));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -157,6 +161,17 @@ class ProviderServiceTest {
         assertEquals("License number already exists", exception.getMessage());
     }
 
+    @Test
+    void registerProvider_OtherIntegrityViolationPropagates() {
+        // Arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not-null property references a null value");
+        when(providerRepository.saveAndFlush(any(Provider.class))).thenThrow(violation);
+
+        // Act & Assert
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> providerService.registerProvider(validRequest)));
+    }
+
     @Test
     void getProviderByUuid_Success() {
         // Arrange
@@ -201,16 +216,26 @@ class ProviderServiceTest {
     @Test
     void deleteProvider_Success() {
         // Arrange
-        when(providerRepository.findByUuid(testUuid)).thenReturn(Optional.of(mockProvider));
-        when(providerRepository.save(any(Provider.class))).thenReturn(mockProvider);
+        when(providerRepository.updateActiveByUuidIn(eq(List.of(testUuid)), eq(false), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         // Act
         providerService.deleteProvider(testUuid);
 
-        // Assert
-        verify(providerRepository).findByUuid(testUuid);
-        verify(providerRepository).save(any(Provider.class));
-        assertFalse(mockProvider.getIsActive());
+        // Assert: one targeted UPDATE, no load or full-row save
+        verify(providerRepository, never()).findByUuid(any());
+        verify(providerRepository, never()).save(any(Provider.class));
+    }
+
+    @Test
+    void deleteProvider_NotFound() {
+        // Arrange
+        when(providerRepository.updateActiveByUuidIn(any(), eq(false), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> providerService.deleteProvider(testUuid));
+        assertEquals("Provider not found with UUID: " + testUuid, exception.getMessage());
     }
 
     @Test
@@ -247,6 +272,24 @@ class ProviderServiceTest {
         assertEquals(1, response.getContent().size());
     }
 
+    @Test
+    void searchProviders_WithoutTotal_SkipsCountQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(providerRepository.sliceProviders(anyString(), anyString(), any(Boolean.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(mockProvider), pageable, true));
+
+        // Act
+        Slice<ProviderResponse> response = providerService.searchProviders(
+                "john", "PENDING", true, 0, 10, "createdAt", "desc", false);
+
+        // Assert
+        assertFalse(response instanceof Page);
+        assertTrue(response.hasNext());
+        assertEquals(testUuid, response.getContent().get(0).getUuid());
+        verify(providerRepository, never()).searchProviders(any(), any(), any(), any(Pageable.class));
+    }
+
     @Test
     void searchProviders_InvalidVerificationStatus() {
         // Act & Assert
@@ -254,4 +297,22 @@ class ProviderServiceTest {
                 () -> providerService.searchProviders("john", "INVALID_STATUS", true, 0, 10, "createdAt", "desc"));
         assertEquals("Invalid verification status: INVALID_STATUS", exception.getMessage());
     }
-} 
\ No newline at end of file
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName, String detail) {
+        SQLException sqlException = new SQLException("duplicate key value violates unique constraint \""
+                + constraintName + "\"\n  Detail: " + detail, "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new org.hibernate.exception.ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+
+    @Test
+    void setProvidersActive_RejectsMoreThanMaxUuids() {
+        // Arrange
+        List<UUID> uuids = java.util.stream.Stream.generate(UUID::randomUUID)
+                .limit(BulkStatusUpdateRequest.MAX_UUIDS + 1).toList();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> providerService.setProvidersActive(uuids, false));
+        verify(providerRepository, never()).updateActiveByUuidIn(any(), anyBoolean(), any());
+    }
+}
@@ -0,0 +1,156 @@
+package com.healthfirst.server.service;
+
+import com.healthfirst.server.config.JwtConfig;
+import com.healthfirst.server.entity.RefreshToken;
+import com.healthfirst.server.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtConfig jwtConfig;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private UUID subjectUuid;
+    private UUID familyId;
+    private RefreshToken storedToken;
+
+    @BeforeEach
+    void setUp() {
+        subjectUuid = UUID.randomUUID();
+        familyId = UUID.randomUUID();
+
+        storedToken = new RefreshToken();
+        storedToken.setId(1L);
+        storedToken.setTokenHash(RefreshTokenService.hash("raw-token"));
+        storedToken.setFamilyId(familyId);
+        storedToken.setSubjectType(RefreshToken.SubjectType.PROVIDER);
+        storedToken.setSubjectUuid(subjectUuid);
+        storedToken.setExpiresAt(Instant.now().plusSeconds(3600));
+    }
+
+    @Test
+    void issue_StoresOnlyHash() {
+        // Arrange
+        when(jwtConfig.getRefreshExpiration()).thenReturn(1209600L);
+
+        // Act
+        String rawToken = refreshTokenService.issue(RefreshToken.SubjectType.PATIENT, subjectUuid);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken saved = captor.getValue();
+        assertNotNull(rawToken);
+        assertNotEquals(rawToken, saved.getTokenHash());
+        assertEquals(RefreshTokenService.hash(rawToken), saved.getTokenHash());
+        assertEquals(RefreshToken.SubjectType.PATIENT, saved.getSubjectType());
+        assertEquals(subjectUuid, saved.getSubjectUuid());
+        assertNotNull(saved.getFamilyId());
+    }
+
+    @Test
+    void rotate_Success() {
+        // Arrange
+        when(jwtConfig.getRefreshExpiration()).thenReturn(1209600L);
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.markRotated(eq(1L), any(Instant.class), anyString())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token", RefreshToken.SubjectType.PROVIDER);
+
+        // Assert
+        assertEquals(subjectUuid, rotation.subjectUuid());
+        assertNotEquals("raw-token", rotation.refreshToken());
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(familyId, captor.getValue().getFamilyId());
+        assertEquals(RefreshTokenService.hash(rotation.refreshToken()), captor.getValue().getTokenHash());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_ReusedTokenRevokesFamily() {
+        // Arrange
+        storedToken.setRevokedAt(Instant.now().minusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate("raw-token", RefreshToken.SubjectType.PROVIDER));
+        assertEquals("Refresh token has been revoked", exception.getMessage());
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ConcurrentRotationRevokesFamily() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.markRotated(eq(1L), any(Instant.class), anyString())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate("raw-token", RefreshToken.SubjectType.PROVIDER));
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ExpiredToken() {
+        // Arrange
+        storedToken.setExpiresAt(Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate("raw-token", RefreshToken.SubjectType.PROVIDER));
+        assertEquals("Refresh token has expired", exception.getMessage());
+    }
+
+    @Test
+    void rotate_WrongSubjectType() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate("raw-token", RefreshToken.SubjectType.PATIENT));
+        assertEquals("Invalid refresh token", exception.getMessage());
+        verify(refreshTokenRepository, never()).markRotated(any(), any(), any());
+    }
+
+    @Test
+    void rotate_UnknownToken() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> refreshTokenService.rotate("unknown", RefreshToken.SubjectType.PROVIDER));
+        assertEquals("Invalid refresh token", exception.getMessage());
+    }
+}
@@ -0,0 +1,92 @@
+package com.healthfirst.server.service;
+
+import com.healthfirst.server.exception.SlotSearchCapacityException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotSearchExecutorTest {
+
+    private SlotSearchExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_CompletesWithQueryResult() throws Exception {
+        executor = new SlotSearchExecutor(2, 10, 10_000);
+
+        CompletableFuture<String> result = executor.submit(() -> Thread.currentThread().getName());
+
+        assertTrue(result.get(5, TimeUnit.SECONDS).startsWith("slot-search-"));
+        assertEquals(1L, executor.getStats().get("completed"));
+    }
+
+    @Test
+    void submit_QueryFailure_CompletesExceptionally() {
+        executor = new SlotSearchExecutor(1, 10, 10_000);
+
+        CompletableFuture<String> result = executor.submit(() -> {
+            throw new IllegalArgumentException("Invalid date range");
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    void submit_PoolAndQueueFull_RejectsImmediately() throws Exception {
+        executor = new SlotSearchExecutor(1, 1, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        CompletableFuture<Integer> blocking = executor.submit(() -> {
+            running.countDown();
+            await(release);
+            return 1;
+        });
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Integer> queued = executor.submit(() -> 2);
+
+        assertThrows(SlotSearchCapacityException.class, () -> executor.submit(() -> 3));
+        assertEquals(1L, executor.getStats().get("rejected"));
+
+        release.countDown();
+        assertEquals(1, blocking.get(5, TimeUnit.SECONDS));
+        assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_QueuedPastMaxWait_SkipsQuery() throws Exception {
+        executor = new SlotSearchExecutor(1, 10, 50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.submit(() -> {
+            await(release);
+            return 1;
+        });
+        CompletableFuture<Integer> stale = executor.submit(() -> fail("Query should not run"));
+        Thread.sleep(100);
+        release.countDown();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> stale.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SlotSearchCapacityException.class, exception.getCause());
+        assertEquals(1L, executor.getStats().get("expired_in_queue"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+-- The schema ddl-auto: update created from the entities before Flyway was introduced (H2
+-- dialect, generated from the baseline commit). Such databases are baselined at V1 and only get
+-- the later migrations; see FlywayBaselineUpgradeTest. Never edit: it stands for deployed schemas.
+
+create table appointment_slots (
+    availability_id bigint not null,
+    created_at timestamp(6) with time zone not null,
+    id bigserial not null,
+    patient_id bigint,
+    provider_id bigint not null,
+    slot_end_time timestamp(6) with time zone not null,
+    slot_start_time timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    uuid uuid not null unique,
+    appointment_type varchar(255),
+    booking_reference varchar(255) unique,
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED')),
+    primary key (id)
+);
+
+create table patient_medical_history (
+    patient_id bigint not null,
+    medical_history varchar(255)
+);
+
+create table patients (
+    date_of_birth date not null,
+    email_verified boolean not null,
+    is_active boolean not null,
+    phone_verified boolean not null,
+    created_at timestamp(6) with time zone,
+    id bigserial not null,
+    updated_at timestamp(6) with time zone,
+    uuid uuid not null unique,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    city varchar(255),
+    email varchar(255) not null unique,
+    gender varchar(255) not null check (gender in ('MALE','FEMALE','OTHER','PREFER_NOT_TO_SAY')),
+    name varchar(255),
+    password_hash varchar(255) not null,
+    phone varchar(255),
+    phone_number varchar(255) not null unique,
+    policy_number varchar(255),
+    provider varchar(255),
+    relationship varchar(255),
+    state varchar(255),
+    street varchar(255),
+    zip varchar(255),
+    primary key (id)
+);
+
+create table provider_availability (
+    base_fee numeric(10,2),
+    break_duration integer not null check ((break_duration>=0) and (break_duration<=120)),
+    current_appointments integer not null check (current_appointments>=0),
+    date date not null,
+    end_time time(6) not null,
+    insurance_accepted boolean,
+    is_recurring boolean not null,
+    max_appointments_per_slot integer not null check ((max_appointments_per_slot>=1) and (max_appointments_per_slot<=10)),
+    recurrence_end_date date,
+    slot_duration integer not null check ((slot_duration<=480) and (slot_duration>=15)),
+    start_time time(6) not null,
+    created_at timestamp(6) with time zone not null,
+    id bigserial not null,
+    provider_id bigint not null,
+    updated_at timestamp(6) with time zone not null,
+    uuid uuid not null unique,
+    notes TEXT,
+    appointment_type varchar(255) not null check (appointment_type in ('CONSULTATION','FOLLOW_UP','EMERGENCY','TELEMEDICINE')),
+    currency varchar(255),
+    location_address varchar(255),
+    location_type varchar(255) not null check (location_type in ('CLINIC','HOSPITAL','TELEMEDICINE','HOME_VISIT')),
+    recurrence_pattern varchar(255) check (recurrence_pattern in ('DAILY','WEEKLY','MONTHLY')),
+    room_number varchar(255),
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED','MAINTENANCE')),
+    timezone varchar(255) not null,
+    primary key (id)
+);
+
+create table provider_availability_special_requirements (
+    availability_id bigint not null,
+    requirement varchar(255)
+);
+
+create table providers (
+    is_active boolean not null,
+    years_of_experience integer check ((years_of_experience>=0) and (years_of_experience<=50)),
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    uuid uuid not null unique,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    specialization varchar(100) not null,
+    clinic_city varchar(255) not null,
+    clinic_state varchar(255) not null,
+    clinic_street varchar(255) not null,
+    clinic_zip varchar(255) not null,
+    email varchar(255) not null unique,
+    license_number varchar(255) not null unique,
+    password_hash varchar(255) not null,
+    phone_number varchar(255) not null unique,
+    verification_status varchar(255) not null check (verification_status in ('PENDING','VERIFIED','REJECTED')),
+    primary key (id)
+);
+
+alter table if exists appointment_slots
+   add constraint FKftxjajf2t5r4ahhur7l1goj0g
+   foreign key (availability_id)
+   references provider_availability;
+
+alter table if exists appointment_slots
+   add constraint FKpmfyqwawdwtsbl0fvf68ns3bs
+   foreign key (patient_id)
+   references patients;
+
+alter table if exists appointment_slots
+   add constraint FKjcceiw4ssitqttyycjy6616xd
+   foreign key (provider_id)
+   references providers;
+
+alter table if exists patient_medical_history
+   add constraint FKh1h5vct3rhl2mei2663c58ykn
+   foreign key (patient_id)
+   references patients;
+
+alter table if exists provider_availability
+   add constraint FKf63f5ogx2p3oj9lc53c6jlod7
+   foreign key (provider_id)
+   references providers;
+
+alter table if exists provider_availability_special_requirements
+   add constraint FKq97w1pm46bjvr3dj7jarvquny
+   foreign key (availability_id)
+   references provider_availability;